@@ -0,0 +1,57 @@
+package com.social.back_java.controller;
+
+import com.social.back_java.dto.product.ProductBulkUpdateItem;
+import com.social.back_java.dto.product.ProductBulkUpdateResultDTO;
+import com.social.back_java.dto.product.ProductImportResultDTO;
+import com.social.back_java.service.IProductImportService;
+import com.social.back_java.service.IProductInventoryService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/products")
+@CrossOrigin(origins = "*")
+public class AdminProductController {
+
+    @Autowired
+    private IProductImportService productImportService;
+
+    @Autowired
+    private IProductInventoryService productInventoryService;
+
+    // The body is read as a stream, so supplier files of any size are imported in constant memory
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importProducts(HttpServletRequest request) {
+        try {
+            String contentType = request.getContentType();
+            ProductImportResultDTO result = contentType != null && contentType.startsWith("application/x-ndjson")
+                    ? productImportService.importNdjson(request.getInputStream())
+                    : productImportService.importCsv(request.getInputStream());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        }
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<?> bulkUpdate(@RequestBody List<ProductBulkUpdateItem> items) {
+        try {
+            ProductBulkUpdateResultDTO result = productInventoryService.bulkUpdate(items);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        }
+    }
+}
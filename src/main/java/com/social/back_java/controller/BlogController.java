@@ -1,15 +1,32 @@
 package com.social.back_java.controller;
 
+import com.social.back_java.dto.blog.BlogLikeStatusDTO;
+import com.social.back_java.dto.blog.BlogSummaryDTO;
+import com.social.back_java.dto.blog.CommentDTO;
+import com.social.back_java.dto.common.CursorPage;
+import com.social.back_java.dto.common.EntityVersionDTO;
+import com.social.back_java.dto.common.TrendingItemDTO;
 import com.social.back_java.model.Blog;
 import com.social.back_java.model.Comment;
+import com.social.back_java.model.User;
 import com.social.back_java.service.IBlogService;
+import com.social.back_java.service.IContentRenderService;
+import com.social.back_java.service.ITrendingService;
+import com.social.back_java.util.ETagUtil;
+import com.social.back_java.util.RenderResponseUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -20,37 +37,118 @@ public class BlogController {
     @Autowired
     private IBlogService blogService;
 
+    @Autowired
+    private IContentRenderService contentRenderService;
+
+    @Autowired
+    private ITrendingService trendingService;
+
     @GetMapping
-    public ResponseEntity<List<Blog>> getAllBlogs() {
-        return ResponseEntity.ok(blogService.getAllBlogs());
+    public ResponseEntity<List<Blog>> getAllBlogs(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETagUtil.forCollection("blogs", blogService.getBlogsVersion(null, null));
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            return ETagUtil.notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(blogService.getAllBlogs());
+    }
+
+    // Lightweight listing for index pages: no content, comments or likes
+    @GetMapping("/summaries")
+    public ResponseEntity<CursorPage<BlogSummaryDTO>> getBlogSummaries(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "tag", required = false) String tag) {
+        try {
+            return ResponseEntity.ok(blogService.getBlogSummaries(cursor, size, category, status, tag));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Recently popular published blogs, ranked by decayed views, likes and comments
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingItemDTO>> getTrendingBlogs(
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingService.getTrendingBlogs(limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Blog> getBlogById(@PathVariable Long id) {
+    public ResponseEntity<Blog> getBlogById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<EntityVersionDTO> version = blogService.getBlogVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Views change on every read without moving updatedAt, so the validator is weak and leaves them out
+        String etag = ETagUtil.forCountedEntity("blog", id, version.get().getUpdatedAt());
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            // A revalidated read is still a view
+            blogService.incrementViews(id);
+            return ETagUtil.notModified(etag);
+        }
         Optional<Blog> blog = blogService.getBlogById(id);
         if (blog.isPresent()) {
             // Increment views
             blogService.incrementViews(id);
-            return ResponseEntity.ok(blog.get());
+            return ResponseEntity.ok().eTag(etag).body(blog.get());
         }
         return ResponseEntity.notFound().build();
     }
 
+    // Sanitized HTML of the blog body, rendered once per version and served gzipped when accepted
+    @GetMapping(value = "/{id}/render", produces = "text/html;charset=UTF-8")
+    public ResponseEntity<byte[]> renderBlog(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return contentRenderService.renderBlog(id)
+                .map(content -> RenderResponseUtil.toResponse("blog-render", content, ifNoneMatch, acceptEncoding))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<Blog> getBlogBySlug(@PathVariable String slug) {
+    public ResponseEntity<Blog> getBlogBySlug(
+            @PathVariable String slug,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<EntityVersionDTO> version = blogService.getBlogVersionBySlug(slug);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = ETagUtil.forCountedEntity("blog", version.get().getId(), version.get().getUpdatedAt());
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            return ETagUtil.notModified(etag);
+        }
         return blogService.getBlogBySlug(slug)
-                .map(ResponseEntity::ok)
+                .map(blog -> ResponseEntity.ok()
+                        .eTag(ETagUtil.forCountedEntity("blog", blog.getId(), blog.getUpdatedAt()))
+                        .body(blog))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Blog>> getBlogsByCategory(@PathVariable String category) {
-        return ResponseEntity.ok(blogService.getBlogsByCategory(category));
+    public ResponseEntity<List<Blog>> getBlogsByCategory(
+            @PathVariable String category,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETagUtil.forCollection("blogs-category-" + category, blogService.getBlogsVersion(category, null));
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            return ETagUtil.notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(blogService.getBlogsByCategory(category));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Blog>> getBlogsByStatus(@PathVariable String status) {
-        return ResponseEntity.ok(blogService.getBlogsByStatus(status));
+    public ResponseEntity<List<Blog>> getBlogsByStatus(
+            @PathVariable String status,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETagUtil.forCollection("blogs-status-" + status, blogService.getBlogsVersion(null, status));
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            return ETagUtil.notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(blogService.getBlogsByStatus(status));
     }
 
     @PostMapping(consumes = {"multipart/form-data"})
@@ -144,33 +242,100 @@ public class BlogController {
         }
     }
 
+    // Publish automatically at the given time, e.g. ?publishAt=2026-11-01T08:00:00%2B07:00
+    @PostMapping("/{id}/schedule")
+    public ResponseEntity<Blog> schedulePublish(
+            @PathVariable Long id,
+            @RequestParam("publishAt") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date publishAt) {
+        try {
+            return ResponseEntity.ok(blogService.schedulePublish(id, publishAt));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{id}/schedule")
+    public ResponseEntity<Blog> cancelScheduledPublish(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(blogService.cancelScheduledPublish(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Responds with the updated blog as before; ?compact=true returns only the new comment
     @PostMapping("/{id}/comment")
-    public ResponseEntity<Blog> addComment(@PathVariable Long id, @RequestBody Comment comment) {
+    public ResponseEntity<?> addComment(
+            @PathVariable Long id,
+            @RequestBody Comment comment,
+            @RequestParam(value = "compact", defaultValue = "false") boolean compact) {
         try {
-            return ResponseEntity.ok(blogService.addComment(id, comment));
+            CommentDTO added = blogService.addComment(id, comment);
+            return compact ? ResponseEntity.ok(added) : blogResponse(id);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    // Newest comments first; pass nextCursor back as ?cursor= for the following page
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<CursorPage<CommentDTO>> getComments(
+            @PathVariable Long id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(blogService.getComments(id, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Responds with the updated blog as before; ?compact=true returns only the like state and count
     @PostMapping("/{blogId}/like/{userId}")
-    public ResponseEntity<Blog> likeBlog(@PathVariable Long blogId, @PathVariable Long userId) {
+    public ResponseEntity<?> likeBlog(
+            @PathVariable Long blogId,
+            @PathVariable Long userId,
+            @RequestParam(value = "compact", defaultValue = "false") boolean compact) {
         try {
-            return ResponseEntity.ok(blogService.likeBlog(blogId, userId));
+            BlogLikeStatusDTO status = blogService.likeBlog(blogId, userId);
+            return compact ? ResponseEntity.ok(status) : blogResponse(blogId);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     @DeleteMapping("/{blogId}/like/{userId}")
-    public ResponseEntity<Blog> unlikeBlog(@PathVariable Long blogId, @PathVariable Long userId) {
+    public ResponseEntity<?> unlikeBlog(
+            @PathVariable Long blogId,
+            @PathVariable Long userId,
+            @RequestParam(value = "compact", defaultValue = "false") boolean compact) {
         try {
-            return ResponseEntity.ok(blogService.unlikeBlog(blogId, userId));
+            BlogLikeStatusDTO status = blogService.unlikeBlog(blogId, userId);
+            return compact ? ResponseEntity.ok(status) : blogResponse(blogId);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    // Which of the given blogs the signed-in user has liked, e.g. /api/blogs/liked?ids=1,2,3
+    @GetMapping("/liked")
+    public ResponseEntity<Map<Long, Boolean>> getLikedStatus(
+            @AuthenticationPrincipal User user,
+            @RequestParam("ids") List<Long> ids) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            return ResponseEntity.ok(blogService.getLikedStatus(user.getId(), ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Cloudinary endpoints
     @PostMapping("/{id}/images")
     public ResponseEntity<Blog> uploadImages(
@@ -199,4 +364,10 @@ public class BlogController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private ResponseEntity<Blog> blogResponse(Long id) {
+        return blogService.getBlogById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
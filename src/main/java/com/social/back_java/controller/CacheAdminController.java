@@ -0,0 +1,32 @@
+package com.social.back_java.controller;
+
+import com.social.back_java.service.IContentRenderService;
+import com.social.back_java.service.impl.ProductCatalogCache;
+import com.social.back_java.util.LruTtlCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@CrossOrigin(origins = "*")
+public class CacheAdminController {
+
+    @Autowired
+    private ProductCatalogCache productCache;
+
+    @Autowired
+    private IContentRenderService contentRenderService;
+
+    @GetMapping("/products")
+    public ResponseEntity<List<LruTtlCache.Stats>> getProductCacheStats() {
+        return ResponseEntity.ok(productCache.stats());
+    }
+
+    @GetMapping("/content")
+    public ResponseEntity<LruTtlCache.Stats> getContentCacheStats() {
+        return ResponseEntity.ok(contentRenderService.stats());
+    }
+}
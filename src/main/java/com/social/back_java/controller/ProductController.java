@@ -1,14 +1,28 @@
 package com.social.back_java.controller;
 
+import com.social.back_java.dto.common.CursorPage;
+import com.social.back_java.dto.common.EntityVersionDTO;
+import com.social.back_java.dto.product.ProductBestSellerDTO;
+import com.social.back_java.dto.product.ProductFacetResultDTO;
+import com.social.back_java.dto.product.ProductSuggestionDTO;
+import com.social.back_java.dto.product.ProductSummaryDTO;
 import com.social.back_java.model.Product;
+import com.social.back_java.service.IProductFacetService;
+import com.social.back_java.service.IProductLeaderboardService;
+import com.social.back_java.service.IProductRelatedService;
 import com.social.back_java.service.IProductService;
+import com.social.back_java.service.IProductSuggestService;
+import com.social.back_java.util.ETagUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/products")
@@ -18,30 +32,112 @@ public class ProductController {
     @Autowired
     private IProductService productService;
 
+    @Autowired
+    private IProductFacetService productFacetService;
+
+    @Autowired
+    private IProductSuggestService productSuggestService;
+
+    @Autowired
+    private IProductRelatedService productRelatedService;
+
+    @Autowired
+    private IProductLeaderboardService productLeaderboardService;
+
     @GetMapping
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<CursorPage<ProductSummaryDTO>> getAllProducts(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String etag = ETagUtil.forCollection("products", productService.getCatalogVersion(null));
+            if (ETagUtil.matches(ifNoneMatch, etag)) {
+                return ETagUtil.notModified(etag);
+            }
+            return ResponseEntity.ok().eTag(etag).body(productService.getProductsPage(cursor, size, sort));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
     @Transactional(readOnly = true)
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
+    public ResponseEntity<Product> getProductById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<EntityVersionDTO> version = productService.getProductVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = ETagUtil.forEntity("product", id, version.get().getUpdatedAt());
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            return ETagUtil.notModified(etag);
+        }
         return productService.getProductById(id)
-                .map(ResponseEntity::ok)
+                .map(product -> ResponseEntity.ok()
+                        .eTag(ETagUtil.forEntity("product", id, product.getUpdatedAt()))
+                        .body(product))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/best-sellers")
+    public ResponseEntity<List<ProductBestSellerDTO>> getBestSellers(
+            @RequestParam(value = "window", defaultValue = "week") String window,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(productLeaderboardService.getBestSellers(window, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<ProductSummaryDTO>> getRelatedProducts(
+            @PathVariable Long id,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productRelatedService.getRelated(id, limit));
+    }
+
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable String category) {
-        return ResponseEntity.ok(productService.getProductsByCategory(category));
+    public ResponseEntity<List<ProductSummaryDTO>> getProductsByCategory(
+            @PathVariable String category,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String etag = ETagUtil.forCollection("products-category-" + category, productService.getCatalogVersion(category));
+            if (ETagUtil.matches(ifNoneMatch, etag)) {
+                return ETagUtil.notModified(etag);
+            }
+            return ResponseEntity.ok().eTag(etag).body(productService.getProductsByCategory(category, sort));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(@RequestParam String name) {
+    public ResponseEntity<List<ProductSummaryDTO>> searchProducts(@RequestParam String name) {
         return ResponseEntity.ok(productService.searchProducts(name));
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionDTO>> suggestProducts(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "8") int limit) {
+        return ResponseEntity.ok(productSuggestService.suggest(query, limit));
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<ProductFacetResultDTO> filterProducts(
+            @RequestParam(value = "category", required = false) List<String> categories,
+            @RequestParam(value = "priceBand", required = false) List<String> priceBands,
+            @RequestParam(value = "inStock", required = false) Boolean inStock,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(productFacetService.filter(categories, priceBands, inStock, page, size));
+    }
+
     @PostMapping(consumes = {"multipart/form-data"})
     public ResponseEntity<Product> createProduct(
             @RequestParam(value = "name", required = true) String name,
@@ -96,7 +192,7 @@ public class ProductController {
             @RequestPart(value = "videos", required = false) List<MultipartFile> videos) {
         try {
             // Get existing product
-            Product product = productService.getProductById(id)
+            Product product = productService.getProductForUpdate(id)
                     .orElseThrow(() -> new RuntimeException("Product not found"));
             
             // Update fields if provided
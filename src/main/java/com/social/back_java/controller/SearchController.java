@@ -0,0 +1,29 @@
+package com.social.back_java.controller;
+
+import com.social.back_java.dto.search.SiteSearchResultDTO;
+import com.social.back_java.service.ISiteSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    @Autowired
+    private ISiteSearchService siteSearchService;
+
+    @GetMapping
+    public ResponseEntity<SiteSearchResultDTO> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(siteSearchService.search(query, type, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
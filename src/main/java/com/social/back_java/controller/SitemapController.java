@@ -0,0 +1,62 @@
+package com.social.back_java.controller;
+
+import com.social.back_java.dto.common.CachedDocumentDTO;
+import com.social.back_java.service.ISitemapService;
+import com.social.back_java.util.ETagUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@CrossOrigin(origins = "*")
+public class SitemapController {
+
+    private static final MediaType RSS = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+    private static final MediaType ATOM = MediaType.parseMediaType("application/atom+xml;charset=UTF-8");
+
+    @Autowired
+    private ISitemapService sitemapService;
+
+    // A urlset for small sites, otherwise a sitemap index pointing at /sitemap/{type}/{page}.xml
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<byte[]> getSitemap(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return document("sitemap", sitemapService.getSitemap(), MediaType.APPLICATION_XML, ifNoneMatch);
+    }
+
+    @GetMapping("/sitemap/{type}/{page}.xml")
+    public ResponseEntity<byte[]> getSitemapShard(
+            @PathVariable String type,
+            @PathVariable int page,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return sitemapService.getSitemapShard(type, page)
+                .map(shard -> document("sitemap-" + type + "-" + page, shard, MediaType.APPLICATION_XML, ifNoneMatch))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Latest published blogs or stories, e.g. /feeds/blogs.rss or /feeds/stories.atom
+    @GetMapping("/feeds/{type}.{format}")
+    public ResponseEntity<byte[]> getFeed(
+            @PathVariable String type,
+            @PathVariable String format,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            CachedDocumentDTO feed = sitemapService.getFeed(type, format);
+            MediaType mediaType = "atom".equalsIgnoreCase(format) ? ATOM : RSS;
+            return document("feed-" + type + "-" + format, feed, mediaType, ifNoneMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private ResponseEntity<byte[]> document(String name, CachedDocumentDTO document, MediaType mediaType,
+                                            String ifNoneMatch) {
+        String etag = ETagUtil.forDocument(name, document.getDigest());
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            return ETagUtil.notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).contentType(mediaType).body(document.getContent());
+    }
+}
@@ -1,14 +1,30 @@
 package com.social.back_java.controller;
 
+import com.social.back_java.dto.common.CursorPage;
+import com.social.back_java.dto.common.EntityVersionDTO;
+import com.social.back_java.dto.common.TrendingItemDTO;
+import com.social.back_java.dto.story.StoryBlockPage;
+import com.social.back_java.dto.story.StoryBlockRequest;
+import com.social.back_java.dto.story.StoryHeaderDTO;
+import com.social.back_java.dto.story.StorySummaryDTO;
 import com.social.back_java.model.Story;
+import com.social.back_java.model.StoryBlock;
+import com.social.back_java.service.IContentRenderService;
 import com.social.back_java.service.IStoryService;
+import com.social.back_java.service.ITrendingService;
+import com.social.back_java.util.ETagUtil;
+import com.social.back_java.util.RenderResponseUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/stories")
@@ -18,28 +34,151 @@ public class StoryController {
     @Autowired
     private IStoryService storyService;
 
+    @Autowired
+    private IContentRenderService contentRenderService;
+
+    @Autowired
+    private ITrendingService trendingService;
+
     @GetMapping
-    public ResponseEntity<List<Story>> getAllStories() {
-        return ResponseEntity.ok(storyService.getAllStories());
+    public ResponseEntity<List<Story>> getAllStories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETagUtil.forCollection("stories", storyService.getStoriesVersion(null));
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            return ETagUtil.notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(storyService.getAllStories());
+    }
+
+    // Lightweight listing for index pages: no blocks
+    @GetMapping("/summaries")
+    public ResponseEntity<CursorPage<StorySummaryDTO>> getStorySummaries(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "tag", required = false) String tag) {
+        try {
+            return ResponseEntity.ok(storyService.getStorySummaries(cursor, size, status, tag));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Most viewed published stories, weighted towards recent views
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingItemDTO>> getTrendingStories(
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingService.getTrendingStories(limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Story> getStoryById(@PathVariable Long id) {
+    public ResponseEntity<Story> getStoryById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<EntityVersionDTO> version = storyService.getStoryVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Revalidated reads count as views too
+        storyService.recordView(id);
+        String etag = ETagUtil.forEntity("story", id, version.get().getUpdatedAt());
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            return ETagUtil.notModified(etag);
+        }
         return storyService.getStoryById(id)
-                .map(ResponseEntity::ok)
+                .map(story -> ResponseEntity.ok()
+                        .eTag(ETagUtil.forEntity("story", id, story.getUpdatedAt()))
+                        .body(story))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Metadata plus the first blocks, so readers can paint before the rest of a long story arrives
+    @GetMapping("/{id}/header")
+    public ResponseEntity<StoryHeaderDTO> getStoryHeader(
+            @PathVariable Long id,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<EntityVersionDTO> version = storyService.getStoryVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        storyService.recordView(id);
+        return storyHeaderResponse(version.get(), limit, ifNoneMatch);
+    }
+
+    @GetMapping("/slug/{slug}/header")
+    public ResponseEntity<StoryHeaderDTO> getStoryHeaderBySlug(
+            @PathVariable String slug,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<EntityVersionDTO> version = storyService.getStoryVersionBySlug(slug);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        storyService.recordView(version.get().getId());
+        return storyHeaderResponse(version.get(), limit, ifNoneMatch);
+    }
+
+    // Next blocks in reading order from a position, e.g. the header's nextFromOrder and nextFromId; views are not counted here
+    @GetMapping("/{id}/blocks")
+    public ResponseEntity<StoryBlockPage> getStoryBlocks(
+            @PathVariable Long id,
+            @RequestParam(value = "fromOrder", required = false) Integer fromOrder,
+            @RequestParam(value = "fromId", required = false) Long fromId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<EntityVersionDTO> version = storyService.getStoryVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Block edits bump the story version, so it also versions every range
+        String etag = ETagUtil.forEntity("story-blocks", id, version.get().getUpdatedAt());
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            return ETagUtil.notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(storyService.getStoryBlocks(id, fromOrder, fromId, limit));
+    }
+
+    // Sanitized HTML of all story blocks in order, rendered once per version and served gzipped when accepted
+    @GetMapping(value = "/{id}/render", produces = "text/html;charset=UTF-8")
+    public ResponseEntity<byte[]> renderStory(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return contentRenderService.renderStory(id)
+                .map(content -> RenderResponseUtil.toResponse("story-render", content, ifNoneMatch, acceptEncoding))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<Story> getStoryBySlug(@PathVariable String slug) {
+    public ResponseEntity<Story> getStoryBySlug(
+            @PathVariable String slug,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<EntityVersionDTO> version = storyService.getStoryVersionBySlug(slug);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        storyService.recordView(version.get().getId());
+        String etag = ETagUtil.forEntity("story", version.get().getId(), version.get().getUpdatedAt());
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            return ETagUtil.notModified(etag);
+        }
         return storyService.getStoryBySlug(slug)
-                .map(ResponseEntity::ok)
+                .map(story -> ResponseEntity.ok()
+                        .eTag(ETagUtil.forEntity("story", story.getId(), story.getUpdatedAt()))
+                        .body(story))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Story>> getStoriesByStatus(@PathVariable String status) {
-        return ResponseEntity.ok(storyService.getStoriesByStatus(status));
+    public ResponseEntity<List<Story>> getStoriesByStatus(
+            @PathVariable String status,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETagUtil.forCollection("stories-status-" + status, storyService.getStoriesVersion(status));
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            return ETagUtil.notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(storyService.getStoriesByStatus(status));
     }
 
     @PostMapping(consumes = {"multipart/form-data"})
@@ -109,6 +248,68 @@ public class StoryController {
         }
     }
 
+    // Publish automatically at the given time, e.g. ?publishAt=2026-11-01T08:00:00%2B07:00
+    @PostMapping("/{id}/schedule")
+    public ResponseEntity<Story> schedulePublish(
+            @PathVariable Long id,
+            @RequestParam("publishAt") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date publishAt) {
+        try {
+            return ResponseEntity.ok(storyService.schedulePublish(id, publishAt));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{id}/schedule")
+    public ResponseEntity<Story> cancelScheduledPublish(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(storyService.cancelScheduledPublish(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Block-level edits: each request writes only the block it addresses
+    @PostMapping("/{id}/blocks")
+    public ResponseEntity<StoryBlock> addBlock(@PathVariable Long id, @RequestBody StoryBlockRequest request) {
+        try {
+            return ResponseEntity.ok(storyService.addBlock(id, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Partial update; afterBlockId or beforeBlockId moves the block without renumbering the others
+    @PatchMapping("/{id}/blocks/{blockId}")
+    public ResponseEntity<StoryBlock> updateBlock(
+            @PathVariable Long id,
+            @PathVariable Long blockId,
+            @RequestBody StoryBlockRequest request) {
+        try {
+            return ResponseEntity.ok(storyService.updateBlock(id, blockId, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{id}/blocks/{blockId}")
+    public ResponseEntity<Void> deleteBlock(@PathVariable Long id, @PathVariable Long blockId) {
+        try {
+            storyService.deleteBlock(id, blockId);
+            return ResponseEntity.ok().build();
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     // Cloudinary endpoints
     @PostMapping("/{id}/featured-image")
     public ResponseEntity<Story> uploadFeaturedImage(
@@ -152,4 +353,16 @@ public class StoryController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private ResponseEntity<StoryHeaderDTO> storyHeaderResponse(EntityVersionDTO version, Integer limit, String ifNoneMatch) {
+        String etag = ETagUtil.forEntity("story-header", version.getId(), version.getUpdatedAt());
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            return ETagUtil.notModified(etag);
+        }
+        return storyService.getStoryHeader(version.getId(), limit)
+                .map(header -> ResponseEntity.ok()
+                        .eTag(ETagUtil.forEntity("story-header", header.getId(), header.getUpdatedAt()))
+                        .body(header))
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
@@ -0,0 +1,65 @@
+package com.social.back_java.controller;
+
+import com.social.back_java.dto.blog.BlogSummaryDTO;
+import com.social.back_java.dto.common.CursorPage;
+import com.social.back_java.dto.common.TagCountDTO;
+import com.social.back_java.dto.story.StorySummaryDTO;
+import com.social.back_java.service.IBlogService;
+import com.social.back_java.service.IStoryService;
+import com.social.back_java.service.ITagService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tags")
+@CrossOrigin(origins = "*")
+public class TagController {
+
+    @Autowired
+    private ITagService tagService;
+
+    @Autowired
+    private IBlogService blogService;
+
+    @Autowired
+    private IStoryService storyService;
+
+    // Tag cloud of published content, e.g. /api/tags?type=blog&limit=50
+    @GetMapping
+    public ResponseEntity<List<TagCountDTO>> getTagCloud(
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(tagService.getTagCloud(type, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{tag}/blogs")
+    public ResponseEntity<CursorPage<BlogSummaryDTO>> getBlogsByTag(
+            @PathVariable String tag,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(blogService.getBlogSummaries(cursor, size, null, "published", tag));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{tag}/stories")
+    public ResponseEntity<CursorPage<StorySummaryDTO>> getStoriesByTag(
+            @PathVariable String tag,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(storyService.getStorySummaries(cursor, size, "published", tag));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.social.back_java.dto.blog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogLikeStatusDTO {
+    private Long blogId;
+    private boolean liked;
+    private int likeCount;
+}
@@ -0,0 +1,45 @@
+package com.social.back_java.dto.blog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogSummaryDTO {
+    private Long id;
+    private String title;
+    private String slug;
+    private String excerpt;
+    private String featuredImage;
+    private String category;
+    private List<String> tags = new ArrayList<>();
+    private String authorName;
+    private int views;
+    private int likeCount;
+    private int commentCount;
+    private Date publishedAt;
+    private Date createdAt;
+
+    // Used by the list projection; tags are filled in by a second query
+    public BlogSummaryDTO(Long id, String title, String slug, String excerpt, String featuredImage, String category,
+                          String authorName, int views, int likeCount, int commentCount, Date publishedAt, Date createdAt) {
+        this.id = id;
+        this.title = title;
+        this.slug = slug;
+        this.excerpt = excerpt;
+        this.featuredImage = featuredImage;
+        this.category = category;
+        this.authorName = authorName;
+        this.views = views;
+        this.likeCount = likeCount;
+        this.commentCount = commentCount;
+        this.publishedAt = publishedAt;
+        this.createdAt = createdAt;
+    }
+}
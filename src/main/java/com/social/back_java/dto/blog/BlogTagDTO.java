@@ -0,0 +1,13 @@
+package com.social.back_java.dto.blog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogTagDTO {
+    private Long blogId;
+    private String tag;
+}
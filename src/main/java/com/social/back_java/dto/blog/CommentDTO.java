@@ -0,0 +1,20 @@
+package com.social.back_java.dto.blog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentDTO {
+    private Long id;
+    private Long blogId;
+    private String content;
+    private Date createdAt;
+    private Long authorId;
+    private String authorName;
+    private String authorAvatar;
+}
@@ -0,0 +1,14 @@
+package com.social.back_java.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedDocumentDTO {
+    private byte[] content;
+    // Hex MD5 of the content, so the same bytes carry the same validator on every instance and after restarts
+    private String digest;
+}
@@ -0,0 +1,15 @@
+package com.social.back_java.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionVersionDTO {
+    private Long count;
+    private Date lastUpdated;
+}
@@ -0,0 +1,19 @@
+package com.social.back_java.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedEntryDTO {
+    private Long id;
+    private String slug;
+    private String title;
+    private String summary;
+    private Date publishedAt;
+    private Date updatedAt;
+}
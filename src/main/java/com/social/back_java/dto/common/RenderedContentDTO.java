@@ -0,0 +1,18 @@
+package com.social.back_java.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RenderedContentDTO {
+    private Long id;
+    // Version the body was rendered from
+    private Date updatedAt;
+    private byte[] html;
+    private byte[] gzip;
+}
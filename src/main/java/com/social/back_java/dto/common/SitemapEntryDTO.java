@@ -0,0 +1,22 @@
+package com.social.back_java.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SitemapEntryDTO {
+    private Long id;
+    // Null for products, which are addressed by id
+    private String slug;
+    private Date updatedAt;
+
+    public SitemapEntryDTO(Long id, Date updatedAt) {
+        this.id = id;
+        this.updatedAt = updatedAt;
+    }
+}
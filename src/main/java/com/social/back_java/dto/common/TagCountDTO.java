@@ -0,0 +1,16 @@
+package com.social.back_java.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagCountDTO {
+    private String tag;
+    private int blogCount;
+    private int storyCount;
+    // Published blogs plus published stories carrying the tag
+    private int count;
+}
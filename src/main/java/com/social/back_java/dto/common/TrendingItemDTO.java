@@ -0,0 +1,21 @@
+package com.social.back_java.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingItemDTO {
+    private Long id;
+    private String title;
+    private String slug;
+    private String featuredImage;
+    private double score;
+
+    // Used by the JPQL constructor expressions; the score is filled in afterwards
+    public TrendingItemDTO(Long id, String title, String slug, String featuredImage) {
+        this(id, title, slug, featuredImage, 0.0);
+    }
+}
@@ -0,0 +1,14 @@
+package com.social.back_java.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBestSellerDTO {
+    private ProductSummaryDTO product;
+    // Units sold within the requested window
+    private int unitsSold;
+}
@@ -0,0 +1,18 @@
+package com.social.back_java.dto.product;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ProductBulkUpdateItem {
+    private Long id;
+    // Absolute stock; mutually exclusive with stockDelta
+    private Integer stock;
+    // Relative stock change, floored at zero
+    private Integer stockDelta;
+    private Double price;
+    private Double pricegiamgia;
+    // Removes the discount price; takes precedence over pricegiamgia
+    private boolean clearPricegiamgia;
+}
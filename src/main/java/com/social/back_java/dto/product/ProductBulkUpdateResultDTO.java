@@ -0,0 +1,16 @@
+package com.social.back_java.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateResultDTO {
+    private int requested;
+    private int updated;
+    private List<Long> notFound;
+}
@@ -0,0 +1,21 @@
+package com.social.back_java.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetResultDTO {
+    private List<ProductSummaryDTO> items;
+    private int total;
+    private int page;
+    private int size;
+    private Map<String, Integer> categoryCounts;
+    private Map<String, Integer> priceBandCounts;
+    private Map<String, Integer> availabilityCounts;
+}
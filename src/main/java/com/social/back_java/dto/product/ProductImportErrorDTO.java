@@ -0,0 +1,13 @@
+package com.social.back_java.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportErrorDTO {
+    private long row;
+    private String message;
+}
@@ -0,0 +1,18 @@
+package com.social.back_java.dto.product;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ProductImportResultDTO {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private List<ProductImportErrorDTO> errors = new ArrayList<>();
+    // Set when more rows failed than the configured error list can hold
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,20 @@
+package com.social.back_java.dto.product;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ProductImportRow {
+    private String name;
+    private String description;
+    private Double price;
+    private Double pricegiamgia;
+    private String category;
+    private Integer stock;
+    private String youtubeUrl;
+    private List<String> images = new ArrayList<>();
+}
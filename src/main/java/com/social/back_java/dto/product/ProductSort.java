@@ -0,0 +1,57 @@
+package com.social.back_java.dto.product;
+
+/**
+ * Orderings offered on product listings. Each one is backed by a (column, id) index,
+ * with and without a category prefix, so sorted pages are read straight off the index.
+ */
+public enum ProductSort {
+    NEWEST("newest"),
+    PRICE_ASC("price_asc"),
+    PRICE_DESC("price_desc"),
+    BEST_SELLING("best_selling");
+
+    private final String param;
+
+    ProductSort(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * Resolve the value of a {@code sort} request parameter
+     * @param value Parameter value, may be null
+     * @return Matching sort, {@link #NEWEST} when absent
+     * @throws IllegalArgumentException if the value is not a known sort
+     */
+    public static ProductSort fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return NEWEST;
+        }
+        for (ProductSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(value.trim())) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort: " + value);
+    }
+
+    /**
+     * Sort key of a row, as stored in the cursor pointing after it
+     * @param product Last row of a page
+     * @return Value of the sorted column
+     */
+    public Number keyOf(ProductSummaryDTO product) {
+        switch (this) {
+            case PRICE_ASC:
+            case PRICE_DESC:
+                return product.getEffectivePrice();
+            case BEST_SELLING:
+                return product.getSalesCount();
+            default:
+                return product.getCreatedAt().getTime();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.social.back_java.dto.product;
+
+import com.social.back_java.model.Product;
+import com.social.back_java.model.ProductImage;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummaryDTO {
+    private Long id;
+    private String name;
+    private Double price;
+    private Double pricegiamgia;
+    private Double effectivePrice;
+    private int stock;
+    private String primaryImage;
+    private Date createdAt;
+    private int salesCount;
+
+    public static ProductSummaryDTO from(Product product) {
+        String primaryImage = null;
+        for (ProductImage image : product.getImages()) {
+            if (image.isPrimary()) {
+                primaryImage = image.getUrl();
+                break;
+            }
+        }
+        if (primaryImage == null && !product.getImages().isEmpty()) {
+            primaryImage = product.getImages().get(0).getUrl();
+        }
+        return new ProductSummaryDTO(
+                product.getId(),
+                product.getName(),
+                product.getPrice(),
+                product.getPricegiamgia(),
+                product.getEffectivePrice(),
+                product.getStock(),
+                primaryImage,
+                product.getCreatedAt(),
+                product.getSalesCount()
+        );
+    }
+}
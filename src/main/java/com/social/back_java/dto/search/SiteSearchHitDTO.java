@@ -0,0 +1,20 @@
+package com.social.back_java.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SiteSearchHitDTO {
+    // "product", "blog" or "story"
+    private String type;
+    private Long id;
+    private String title;
+    private String slug;
+    private String image;
+    // HTML-escaped excerpt with matched words wrapped in <mark>
+    private String snippet;
+    private double score;
+}
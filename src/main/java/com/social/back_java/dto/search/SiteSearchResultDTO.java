@@ -0,0 +1,17 @@
+package com.social.back_java.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SiteSearchResultDTO {
+    private List<SiteSearchHitDTO> items;
+    private long total;
+    private int page;
+    private int size;
+}
@@ -0,0 +1,19 @@
+package com.social.back_java.dto.story;
+
+import com.social.back_java.model.StoryBlock;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoryBlockPage {
+    private List<StoryBlock> blocks;
+    // Sort key and id of the first block of the next range, passed back as fromOrder and fromId
+    private Integer nextFromOrder;
+    private Long nextFromId;
+    private boolean hasMore;
+}
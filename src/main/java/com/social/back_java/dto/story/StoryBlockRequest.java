@@ -0,0 +1,17 @@
+package com.social.back_java.dto.story;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class StoryBlockRequest {
+    // Content fields; null leaves the stored value unchanged on update
+    private String type;
+    private String content;
+    private String imageCaption;
+    private String imageAlt;
+    // Target position, at most one of the two; neither appends on insert and keeps the position on update
+    private Long afterBlockId;
+    private Long beforeBlockId;
+}
@@ -0,0 +1,54 @@
+package com.social.back_java.dto.story;
+
+import com.social.back_java.model.StoryBlock;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoryHeaderDTO {
+    private Long id;
+    private String title;
+    private String slug;
+    private String description;
+    private String status;
+    private String featuredImage;
+    private String youtubeUrl;
+    private List<String> tags = new ArrayList<>();
+    private String authorName;
+    private String authorAvatar;
+    private int views;
+    private Date publishedAt;
+    private Date createdAt;
+    private Date updatedAt;
+    private long blockCount;
+    // First blocks of the story; the rest are read by range from nextFromOrder and nextFromId
+    private List<StoryBlock> blocks = new ArrayList<>();
+    private Integer nextFromOrder;
+    private Long nextFromId;
+
+    // Used by the header projection; tags and blocks are filled in by separate queries
+    public StoryHeaderDTO(Long id, String title, String slug, String description, String status,
+                          String featuredImage, String youtubeUrl, String authorName, String authorAvatar,
+                          int views, Date publishedAt, Date createdAt, Date updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.slug = slug;
+        this.description = description;
+        this.status = status;
+        this.featuredImage = featuredImage;
+        this.youtubeUrl = youtubeUrl;
+        this.authorName = authorName;
+        this.authorAvatar = authorAvatar;
+        this.views = views;
+        this.publishedAt = publishedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,39 @@
+package com.social.back_java.dto.story;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorySummaryDTO {
+    private Long id;
+    private String title;
+    private String slug;
+    private String description;
+    private String featuredImage;
+    private List<String> tags = new ArrayList<>();
+    private String authorName;
+    private int views;
+    private Date publishedAt;
+    private Date createdAt;
+
+    // Used by the list projection; tags are filled in by a second query
+    public StorySummaryDTO(Long id, String title, String slug, String description, String featuredImage,
+                           String authorName, int views, Date publishedAt, Date createdAt) {
+        this.id = id;
+        this.title = title;
+        this.slug = slug;
+        this.description = description;
+        this.featuredImage = featuredImage;
+        this.authorName = authorName;
+        this.views = views;
+        this.publishedAt = publishedAt;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,13 @@
+package com.social.back_java.dto.story;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoryTagDTO {
+    private Long storyId;
+    private String tag;
+}
@@ -10,7 +10,13 @@ import java.util.HashSet;
 
 @Data
 @Entity
-@Table(name = "blogs")
+@Table(name = "blogs", indexes = {
+        @Index(name = "idx_blogs_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_blogs_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_blogs_status_created_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_blogs_category_created_id", columnList = "category, created_at, id"),
+        @Index(name = "idx_blogs_scheduled_publish_at", columnList = "scheduled_publish_at")
+})
 public class Blog {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -42,14 +48,17 @@ public class Blog {
     private String category;
 
     @ElementCollection
-    @CollectionTable(name = "blog_tags", joinColumns = @JoinColumn(name = "blog_id"))
+    @CollectionTable(name = "blog_tags", joinColumns = @JoinColumn(name = "blog_id"), indexes = {
+            @Index(name = "idx_blog_tags_tag_blog", columnList = "tag, blog_id")
+    })
     @Column(name = "tag")
     private List<String> tags = new ArrayList<>();
 
     @Column(columnDefinition = "VARCHAR(255) DEFAULT 'draft'")
     private String status = "draft";
 
-    @Column(columnDefinition = "INT DEFAULT 0")
+    // Written only by BlogViewCounter's batched increments, so saving a stale copy cannot reset it
+    @Column(columnDefinition = "INT DEFAULT 0", insertable = false, updatable = false)
     private int views;
 
     @ManyToMany
@@ -60,8 +69,14 @@ public class Blog {
     )
     private Set<User> likes = new HashSet<>();
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "blog_id") // Unidirectional OneToMany for simplicity as Comment doesn't strictly need to know about Blog in this design, or we can add it.
+    // Denormalized size of likes, adjusted in the same statement batch as blog_likes
+    @Column(columnDefinition = "INT DEFAULT 0", insertable = false, updatable = false)
+    private int likeCount;
+
+    // Read-only view of the blog's comments; they are written through CommentRepository with
+    // Comment.blogId and paged with findPageByBlogId, never by saving the blog
+    @OneToMany
+    @JoinColumn(name = "blog_id", insertable = false, updatable = false)
     private List<Comment> comments = new ArrayList<>();
 
     private String metaTitle;
@@ -70,6 +85,9 @@ public class Blog {
     @Temporal(TemporalType.TIMESTAMP)
     private Date publishedAt;
 
+    // Set while a timed publish is pending; cleared when it fires, is cancelled or the item is published by hand
+    private Date scheduledPublishAt;
+
     @Column(nullable = false, updatable = false)
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
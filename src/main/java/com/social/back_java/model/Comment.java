@@ -6,12 +6,18 @@ import java.util.Date;
 
 @Data
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_blog_created_id", columnList = "blog_id, created_at, id")
+})
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Owns the blog_id column so a comment is inserted on its own, without touching the blog
+    @Column(name = "blog_id")
+    private Long blogId;
+
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -8,7 +8,15 @@ import java.util.List;
 
 @Data
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_products_category_created_id", columnList = "category, created_at, id"),
+        @Index(name = "idx_products_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_products_effective_price_id", columnList = "effective_price, id"),
+        @Index(name = "idx_products_category_effective_price_id", columnList = "category, effective_price, id"),
+        @Index(name = "idx_products_sales_count_id", columnList = "sales_count, id"),
+        @Index(name = "idx_products_category_sales_count_id", columnList = "category, sales_count, id")
+})
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,6 +33,9 @@ public class Product {
 
     private Double pricegiamgia;
 
+    // Price the customer pays (discount if any), stored so price sorting can walk an index
+    private Double effectivePrice;
+
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "product_images", joinColumns = @JoinColumn(name = "product_id"))
     private List<ProductImage> images = new ArrayList<>();
@@ -40,6 +51,11 @@ public class Product {
 
     private String youtubeUrl;
 
+    // Units sold in non-cancelled orders. Only written by atomic UPDATEs from the order flow,
+    // so saving a stale copy of the product can never roll it back.
+    @Column(columnDefinition = "INT DEFAULT 0", insertable = false, updatable = false)
+    private int salesCount;
+
     @Column(nullable = false, updatable = false)
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
@@ -51,10 +67,12 @@ public class Product {
     protected void onCreate() {
         createdAt = new Date();
         updatedAt = new Date();
+        effectivePrice = pricegiamgia != null ? pricegiamgia : price;
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = new Date();
+        effectivePrice = pricegiamgia != null ? pricegiamgia : price;
     }
 }
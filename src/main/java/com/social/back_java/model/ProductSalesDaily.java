@@ -0,0 +1,30 @@
+package com.social.back_java.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Checkpoint of one product's units sold on one day, written by the best-seller leaderboard
+ */
+@Data
+@Entity
+@Table(name = "product_sales_daily", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_product_sales_daily_date_product", columnNames = {"sales_date", "product_id"})
+})
+public class ProductSalesDaily {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    // Plain id rather than a relation, so history survives product deletion
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private int units;
+}
@@ -8,7 +8,12 @@ import java.util.List;
 
 @Data
 @Entity
-@Table(name = "stories")
+@Table(name = "stories", indexes = {
+        @Index(name = "idx_stories_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_stories_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_stories_status_created_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_stories_scheduled_publish_at", columnList = "scheduled_publish_at")
+})
 public class Story {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,9 +28,10 @@ public class Story {
     @Column(length = 500)
     private String description;
 
-    @ElementCollection
-    @CollectionTable(name = "story_blocks", joinColumns = @JoinColumn(name = "story_id"))
-    @OrderBy("sortOrder ASC")
+    // Read-only view; blocks are inserted, updated and moved one row at a time through StoryBlockRepository
+    @OneToMany
+    @JoinColumn(name = "story_id", insertable = false, updatable = false)
+    @OrderBy("sortOrder ASC, id ASC")
     private List<StoryBlock> blocks = new ArrayList<>();
 
     @ManyToOne
@@ -33,7 +39,9 @@ public class Story {
     private User author;
 
     @ElementCollection
-    @CollectionTable(name = "story_tags", joinColumns = @JoinColumn(name = "story_id"))
+    @CollectionTable(name = "story_tags", joinColumns = @JoinColumn(name = "story_id"), indexes = {
+            @Index(name = "idx_story_tags_tag_story", columnList = "tag, story_id")
+    })
     @Column(name = "tag")
     private List<String> tags = new ArrayList<>();
 
@@ -48,6 +56,9 @@ public class Story {
     @Temporal(TemporalType.TIMESTAMP)
     private Date publishedAt;
 
+    // Set while a timed publish is pending; cleared when it fires, is cancelled or the item is published by hand
+    private Date scheduledPublishAt;
+
     @Column(columnDefinition = "INT DEFAULT 0")
     private int sortOrder;
 
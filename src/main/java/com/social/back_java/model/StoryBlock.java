@@ -1,13 +1,25 @@
 package com.social.back_java.model;
 
-import jakarta.persistence.Embeddable;
+import jakarta.persistence.*;
 import lombok.Data;
 
-import jakarta.persistence.Column;
 @Data
-@Embeddable
+@Entity
+@Table(name = "story_content_blocks", indexes = {
+        @Index(name = "idx_story_content_blocks_story_sort", columnList = "story_id, sort_order")
+})
 public class StoryBlock {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owns the story_id column so a block is written on its own, without rewriting the story
+    @Column(name = "story_id", nullable = false)
+    private Long storyId;
+
     private String type; // "text" or "image"
+
+    // Sparse sort key: blocks are spaced apart so a move only rewrites the moved row
     private int sortOrder; // Renamed from 'order' to avoid SQL keyword conflict
 
     @Column(length = 5000)
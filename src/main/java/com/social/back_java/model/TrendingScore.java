@@ -0,0 +1,34 @@
+package com.social.back_java.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Snapshot of one blog's or story's decayed trending score, rewritten periodically by the trending service
+ */
+@Data
+@Entity
+@Table(name = "trending_scores", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_trending_scores_type_content", columnNames = {"content_type", "content_id"})
+})
+public class TrendingScore {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // "blog" or "story"
+    @Column(name = "content_type", nullable = false, length = 16)
+    private String contentType;
+
+    @Column(name = "content_id", nullable = false)
+    private Long contentId;
+
+    // Score decayed to scoredAt
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "scored_at", nullable = false)
+    private Date scoredAt;
+}
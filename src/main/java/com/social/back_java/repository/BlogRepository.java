@@ -1,17 +1,109 @@
 package com.social.back_java.repository;
 
+import com.social.back_java.dto.blog.BlogTagDTO;
+import com.social.back_java.dto.common.CollectionVersionDTO;
+import com.social.back_java.dto.common.EntityVersionDTO;
+import com.social.back_java.dto.common.FeedEntryDTO;
+import com.social.back_java.dto.common.ScheduledPublishDTO;
+import com.social.back_java.dto.common.SitemapEntryDTO;
+import com.social.back_java.dto.common.TrendingItemDTO;
 import com.social.back_java.model.Blog;
 import com.social.back_java.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BlogRepository extends JpaRepository<Blog, Long> {
+public interface BlogRepository extends JpaRepository<Blog, Long>, BlogRepositoryCustom {
     Optional<Blog> findBySlug(String slug);
     List<Blog> findByAuthor(User author);
     List<Blog> findByStatus(String status);
     List<Blog> findByCategory(String category);
+
+    List<Blog> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Likes are toggled with single-row statements on the (blog_id, user_id) primary key of
+    // blog_likes, never by loading the likes set
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO blog_likes (blog_id, user_id) VALUES (:blogId, :userId)", nativeQuery = true)
+    int insertLike(@Param("blogId") Long blogId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM blog_likes WHERE blog_id = :blogId AND user_id = :userId", nativeQuery = true)
+    int deleteLike(@Param("blogId") Long blogId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE blogs SET like_count = GREATEST(like_count + :delta, 0) WHERE id = :blogId", nativeQuery = true)
+    int adjustLikeCount(@Param("blogId") Long blogId, @Param("delta") int delta);
+
+    @Query("SELECT b.likeCount FROM Blog b WHERE b.id = :blogId")
+    Integer findLikeCount(@Param("blogId") Long blogId);
+
+    @Query(value = "SELECT blog_id FROM blog_likes WHERE user_id = :userId AND blog_id IN (:blogIds)", nativeQuery = true)
+    List<Long> findLikedBlogIds(@Param("userId") Long userId, @Param("blogIds") Collection<Long> blogIds);
+
+    // Tags for a page of summaries in one round trip
+    @Query("SELECT new com.social.back_java.dto.blog.BlogTagDTO(b.id, t) FROM Blog b JOIN b.tags t WHERE b.id IN :ids")
+    List<BlogTagDTO> findTagsByBlogIds(@Param("ids") Collection<Long> ids);
+
+    // Bumps the version of a blog whose comments changed, without loading or saving the entity
+    @Modifying
+    @Query(value = "UPDATE blogs SET updated_at = :updatedAt WHERE id = :blogId", nativeQuery = true)
+    int touch(@Param("blogId") Long blogId, @Param("updatedAt") Date updatedAt);
+
+    // Titles for the trending list, published blogs only
+    @Query("SELECT new com.social.back_java.dto.common.TrendingItemDTO(b.id, b.title, b.slug, b.featuredImage) " +
+            "FROM Blog b WHERE b.id IN :ids AND b.status = 'published'")
+    List<TrendingItemDTO> findTrendingItems(@Param("ids") Collection<Long> ids);
+
+    // Versions for conditional GETs, answered without loading content, comments or likes
+    @Query("SELECT new com.social.back_java.dto.common.EntityVersionDTO(b.id, b.updatedAt) FROM Blog b WHERE b.id = :id")
+    Optional<EntityVersionDTO> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.social.back_java.dto.common.EntityVersionDTO(b.id, b.updatedAt) FROM Blog b WHERE b.slug = :slug")
+    Optional<EntityVersionDTO> findVersionBySlug(@Param("slug") String slug);
+
+    @Query("SELECT new com.social.back_java.dto.common.CollectionVersionDTO(COUNT(b), MAX(b.updatedAt)) FROM Blog b")
+    CollectionVersionDTO findCollectionVersion();
+
+    @Query("SELECT new com.social.back_java.dto.common.CollectionVersionDTO(COUNT(b), MAX(b.updatedAt)) FROM Blog b WHERE b.category = :category")
+    CollectionVersionDTO findCategoryVersion(@Param("category") String category);
+
+    @Query("SELECT new com.social.back_java.dto.common.CollectionVersionDTO(COUNT(b), MAX(b.updatedAt)) FROM Blog b WHERE b.status = :status")
+    CollectionVersionDTO findStatusVersion(@Param("status") String status);
+
+    // Timed publishing: pending schedules for the in-memory queue, then a guarded bulk publish of the due ones
+    @Query("SELECT new com.social.back_java.dto.common.ScheduledPublishDTO(b.id, b.scheduledPublishAt) " +
+            "FROM Blog b WHERE b.scheduledPublishAt IS NOT NULL")
+    List<ScheduledPublishDTO> findScheduledPublishes();
+
+    @Query("SELECT b.id FROM Blog b WHERE b.id IN :ids AND b.scheduledPublishAt <= :now")
+    List<Long> findDueScheduledIds(@Param("ids") Collection<Long> ids, @Param("now") Date now);
+
+    @Modifying
+    @Query("UPDATE Blog b SET b.status = 'published', b.publishedAt = b.scheduledPublishAt, " +
+            "b.scheduledPublishAt = NULL, b.updatedAt = :now WHERE b.id IN :ids AND b.scheduledPublishAt <= :now")
+    int publishScheduled(@Param("ids") Collection<Long> ids, @Param("now") Date now);
+
+    // Sitemap and feeds: published blogs walked by id without loading content, comments or likes
+    @Query("SELECT new com.social.back_java.dto.common.SitemapEntryDTO(b.id, b.slug, b.updatedAt) " +
+            "FROM Blog b WHERE b.status = 'published' AND b.id > :afterId ORDER BY b.id")
+    List<SitemapEntryDTO> findSitemapEntries(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b.id FROM Blog b WHERE b.status = 'published' AND b.id > :afterId ORDER BY b.id")
+    List<Long> findSitemapIds(@Param("afterId") Long afterId, Pageable pageable);
+
+    long countByStatus(String status);
+
+    @Query("SELECT new com.social.back_java.dto.common.FeedEntryDTO(b.id, b.slug, b.title, b.excerpt, b.publishedAt, b.updatedAt) " +
+            "FROM Blog b WHERE b.status = 'published' ORDER BY b.publishedAt DESC, b.id DESC")
+    List<FeedEntryDTO> findFeedEntries(Pageable pageable);
 }
@@ -0,0 +1,20 @@
+package com.social.back_java.repository;
+
+import com.social.back_java.dto.blog.BlogSummaryDTO;
+import com.social.back_java.util.CursorUtil;
+
+import java.util.List;
+
+public interface BlogRepositoryCustom {
+
+    /**
+     * Keyset-paginated blog summaries in (createdAt DESC, id DESC) order, without tags
+     * @param category Category to restrict to, or null
+     * @param status Status to restrict to, or null
+     * @param tag Tag to restrict to, or null
+     * @param after Position of the last row already returned, or null for the first page
+     * @param limit Maximum rows to return
+     * @return Summaries following {@code after}
+     */
+    List<BlogSummaryDTO> findSummaries(String category, String status, String tag, CursorUtil.Cursor after, int limit);
+}
@@ -0,0 +1,63 @@
+package com.social.back_java.repository;
+
+import com.social.back_java.dto.blog.BlogSummaryDTO;
+import com.social.back_java.util.CursorUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BlogRepositoryImpl implements BlogRepositoryCustom {
+
+    // The comment count is a correlated COUNT subquery and likes are denormalized, so content,
+    // likes and comments are never loaded
+    private static final String SUMMARY_SELECT = "SELECT new com.social.back_java.dto.blog.BlogSummaryDTO(" +
+            "b.id, b.title, b.slug, b.excerpt, b.featuredImage, b.category, a.name, b.views, " +
+            "b.likeCount, SIZE(b.comments), b.publishedAt, b.createdAt) " +
+            "FROM Blog b JOIN b.author a ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BlogSummaryDTO> findSummaries(String category, String status, String tag, CursorUtil.Cursor after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        if (category != null) {
+            conditions.add("b.category = :category");
+        }
+        if (status != null) {
+            conditions.add("b.status = :status");
+        }
+        if (tag != null) {
+            // Uncorrelated so MySQL can drive it from idx_blog_tags_tag_blog
+            conditions.add("b.id IN (SELECT tb.id FROM Blog tb JOIN tb.tags t WHERE t = :tag)");
+        }
+        if (after != null) {
+            conditions.add("(b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id))");
+        }
+
+        StringBuilder jpql = new StringBuilder(SUMMARY_SELECT);
+        if (!conditions.isEmpty()) {
+            jpql.append("WHERE ").append(String.join(" AND ", conditions)).append(' ');
+        }
+        jpql.append("ORDER BY b.createdAt DESC, b.id DESC");
+
+        TypedQuery<BlogSummaryDTO> query = entityManager.createQuery(jpql.toString(), BlogSummaryDTO.class);
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (tag != null) {
+            query.setParameter("tag", tag);
+        }
+        if (after != null) {
+            query.setParameter("createdAt", after.getCreatedAt());
+            query.setParameter("id", after.getId());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
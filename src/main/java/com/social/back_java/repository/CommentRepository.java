@@ -0,0 +1,39 @@
+package com.social.back_java.repository;
+
+import com.social.back_java.dto.blog.CommentDTO;
+import com.social.back_java.model.Comment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    // The author summary comes from the same query, so a page never loads full User rows
+    String DTO_SELECT = "SELECT new com.social.back_java.dto.blog.CommentDTO(" +
+            "c.id, c.blogId, c.content, c.createdAt, u.id, u.name, u.avatar) " +
+            "FROM Comment c JOIN c.user u ";
+
+    // Keyset pagination ordered by (createdAt DESC, id DESC), served by idx_comments_blog_created_id
+    @Query(DTO_SELECT + "WHERE c.blogId = :blogId ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentDTO> findPageByBlogId(@Param("blogId") Long blogId, Pageable pageable);
+
+    @Query(DTO_SELECT +
+            "WHERE c.blogId = :blogId AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentDTO> findPageByBlogIdAfter(@Param("blogId") Long blogId, @Param("createdAt") Date createdAt,
+                                           @Param("id") Long id, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE c.id = :id")
+    CommentDTO findDtoById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.blogId = :blogId")
+    int deleteByBlogIdInBulk(@Param("blogId") Long blogId);
+}
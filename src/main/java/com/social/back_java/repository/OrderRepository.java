@@ -1,8 +1,12 @@
 package com.social.back_java.repository;
 
+import com.social.back_java.dto.product.OrderedProductDTO;
 import com.social.back_java.model.Order;
 import com.social.back_java.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +17,13 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUser(User user);
     Optional<Order> findByOrderNumber(String orderNumber);
     List<Order> findByStatus(String status);
+
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId ORDER BY o.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Product ids bought in each non-cancelled order of an id range, without loading the orders
+    @Query("SELECT new com.social.back_java.dto.product.OrderedProductDTO(o.id, i.product.id) " +
+            "FROM Order o JOIN o.items i " +
+            "WHERE o.id > :afterId AND o.id <= :lastId AND o.status <> 'Cancelled' ORDER BY o.id ASC")
+    List<OrderedProductDTO> findOrderedProducts(@Param("afterId") Long afterId, @Param("lastId") Long lastId);
 }
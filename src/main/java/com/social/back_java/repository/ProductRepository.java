@@ -1,13 +1,66 @@
 package com.social.back_java.repository;
 
+import com.social.back_java.dto.common.CollectionVersionDTO;
+import com.social.back_java.dto.common.EntityVersionDTO;
+import com.social.back_java.dto.common.SitemapEntryDTO;
+import com.social.back_java.dto.product.ProductSummaryDTO;
 import com.social.back_java.model.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
-    List<Product> findByCategory(String category);
-    List<Product> findByNameContaining(String name);
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+
+    // List views only need a handful of columns plus one image url, so they never touch the
+    // eager image/video collections. Falls back to any image when none is flagged primary.
+    String SUMMARY_SELECT = "SELECT new com.social.back_java.dto.product.ProductSummaryDTO(" +
+            "p.id, p.name, p.price, p.pricegiamgia, p.effectivePrice, p.stock, " +
+            "COALESCE(" +
+            "(SELECT MIN(primaryImg.url) FROM Product p1 JOIN p1.images primaryImg WHERE p1 = p AND primaryImg.isPrimary = true), " +
+            "(SELECT MIN(anyImg.url) FROM Product p2 JOIN p2.images anyImg WHERE p2 = p)), " +
+            "p.createdAt, p.salesCount) FROM Product p ";
+
+    // Versions for conditional GETs, answered without loading the image/video collections
+    @Query("SELECT new com.social.back_java.dto.common.EntityVersionDTO(p.id, p.updatedAt) FROM Product p WHERE p.id = :id")
+    Optional<EntityVersionDTO> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.social.back_java.dto.common.CollectionVersionDTO(COUNT(p), MAX(p.updatedAt)) FROM Product p")
+    CollectionVersionDTO findCatalogVersion();
+
+    @Query("SELECT new com.social.back_java.dto.common.CollectionVersionDTO(COUNT(p), MAX(p.updatedAt)) FROM Product p WHERE p.category = :category")
+    CollectionVersionDTO findCategoryVersion(@Param("category") String category);
+
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<ProductSummaryDTO> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Set<Long> ids);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Sales counters are adjusted in place so concurrent orders never lose an update
+    @Modifying
+    @Query(value = "UPDATE products SET sales_count = sales_count + :quantity WHERE id = :id", nativeQuery = true)
+    int addSales(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = "UPDATE products SET sales_count = GREATEST(sales_count - :quantity, 0) WHERE id = :id", nativeQuery = true)
+    int removeSales(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // Sitemap: every product walked by id without loading images or videos
+    @Query("SELECT new com.social.back_java.dto.common.SitemapEntryDTO(p.id, p.updatedAt) FROM Product p " +
+            "WHERE p.id > :afterId ORDER BY p.id")
+    List<SitemapEntryDTO> findSitemapEntries(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT p.id FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findSitemapIds(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,20 @@
+package com.social.back_java.repository;
+
+import com.social.back_java.dto.product.ProductSort;
+import com.social.back_java.dto.product.ProductSummaryDTO;
+import com.social.back_java.util.CursorUtil;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Keyset-paginated product summaries in the given order
+     * @param sort Listing order, always tie-broken by id in the same direction
+     * @param category Category to restrict to, or null for the whole catalog
+     * @param after Position of the last row already returned, or null for the first page
+     * @param limit Maximum rows to return, or null for all of them
+     * @return Summaries following {@code after}
+     */
+    List<ProductSummaryDTO> findSummaries(ProductSort sort, String category, CursorUtil.Cursor after, Integer limit);
+}
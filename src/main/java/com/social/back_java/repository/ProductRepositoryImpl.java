@@ -0,0 +1,81 @@
+package com.social.back_java.repository;
+
+import com.social.back_java.dto.product.ProductSort;
+import com.social.back_java.dto.product.ProductSummaryDTO;
+import com.social.back_java.util.CursorUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductSummaryDTO> findSummaries(ProductSort sort, String category, CursorUtil.Cursor after, Integer limit) {
+        String column = columnOf(sort);
+        // The id tie-breaker runs in the same direction as the sort column, so the
+        // (column, id) indexes can be scanned forwards or backwards without a filesort
+        boolean ascending = sort == ProductSort.PRICE_ASC;
+        String direction = ascending ? "ASC" : "DESC";
+        String comparison = ascending ? ">" : "<";
+
+        List<String> conditions = new ArrayList<>();
+        if (category != null) {
+            conditions.add("p.category = :category");
+        }
+        if (after != null) {
+            conditions.add("(" + column + " " + comparison + " :value OR (" +
+                    column + " = :value AND p.id " + comparison + " :id))");
+        }
+
+        StringBuilder jpql = new StringBuilder(ProductRepository.SUMMARY_SELECT);
+        if (!conditions.isEmpty()) {
+            jpql.append("WHERE ").append(String.join(" AND ", conditions)).append(' ');
+        }
+        jpql.append("ORDER BY ").append(column).append(' ').append(direction)
+                .append(", p.id ").append(direction);
+
+        TypedQuery<ProductSummaryDTO> query = entityManager.createQuery(jpql.toString(), ProductSummaryDTO.class);
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (after != null) {
+            query.setParameter("value", valueOf(sort, after));
+            query.setParameter("id", after.getId());
+        }
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    private String columnOf(ProductSort sort) {
+        switch (sort) {
+            case PRICE_ASC:
+            case PRICE_DESC:
+                return "p.effectivePrice";
+            case BEST_SELLING:
+                return "p.salesCount";
+            default:
+                return "p.createdAt";
+        }
+    }
+
+    // Cursor values are bound with the Java type of the sorted attribute
+    private Object valueOf(ProductSort sort, CursorUtil.Cursor cursor) {
+        switch (sort) {
+            case PRICE_ASC:
+            case PRICE_DESC:
+                return cursor.getNumber();
+            case BEST_SELLING:
+                return (int) cursor.getNumber();
+            default:
+                return cursor.getCreatedAt();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.social.back_java.repository;
+
+import com.social.back_java.model.ProductSalesDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProductSalesDailyRepository extends JpaRepository<ProductSalesDaily, Long> {
+    List<ProductSalesDaily> findBySalesDateGreaterThanEqual(LocalDate from);
+}
@@ -0,0 +1,51 @@
+package com.social.back_java.repository;
+
+import com.social.back_java.model.StoryBlock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoryBlockRepository extends JpaRepository<StoryBlock, Long> {
+
+    List<StoryBlock> findByStoryIdOrderBySortOrderAscIdAsc(Long storyId);
+
+    // The block at a position, fetched alone with an offset of the position and a limit of one
+    List<StoryBlock> findByStoryIdOrderBySortOrderAscIdAsc(Long storyId, Pageable pageable);
+
+    Optional<StoryBlock> findByIdAndStoryId(Long id, Long storyId);
+
+    long countByStoryId(Long storyId);
+
+    // One range of a story for incremental reading from a (sortOrder, id) position, served by
+    // idx_story_content_blocks_story_sort; the id keeps the position exact when sort keys repeat
+    @Query("SELECT b FROM StoryBlock b WHERE b.storyId = :storyId " +
+            "AND (b.sortOrder > :fromOrder OR (b.sortOrder = :fromOrder AND b.id >= :fromId)) " +
+            "ORDER BY b.sortOrder ASC, b.id ASC")
+    List<StoryBlock> findRange(@Param("storyId") Long storyId, @Param("fromOrder") int fromOrder,
+                               @Param("fromId") long fromId, Pageable pageable);
+
+    // Neighbours of a target position, served by idx_story_content_blocks_story_sort; the moving block is skipped
+    @Query("SELECT b FROM StoryBlock b WHERE b.storyId = :storyId AND b.sortOrder > :sortOrder AND b.id <> :excludeId " +
+            "ORDER BY b.sortOrder ASC, b.id ASC")
+    List<StoryBlock> findFollowing(@Param("storyId") Long storyId, @Param("sortOrder") int sortOrder,
+                                   @Param("excludeId") Long excludeId, Pageable pageable);
+
+    @Query("SELECT b FROM StoryBlock b WHERE b.storyId = :storyId AND b.sortOrder < :sortOrder AND b.id <> :excludeId " +
+            "ORDER BY b.sortOrder DESC, b.id DESC")
+    List<StoryBlock> findPreceding(@Param("storyId") Long storyId, @Param("sortOrder") int sortOrder,
+                                   @Param("excludeId") Long excludeId, Pageable pageable);
+
+    @Query("SELECT b FROM StoryBlock b WHERE b.storyId = :storyId AND b.id <> :excludeId ORDER BY b.sortOrder DESC, b.id DESC")
+    List<StoryBlock> findLast(@Param("storyId") Long storyId, @Param("excludeId") Long excludeId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM StoryBlock b WHERE b.storyId = :storyId")
+    int deleteByStoryIdInBulk(@Param("storyId") Long storyId);
+}
@@ -1,16 +1,87 @@
 package com.social.back_java.repository;
 
+import com.social.back_java.dto.common.CollectionVersionDTO;
+import com.social.back_java.dto.common.EntityVersionDTO;
+import com.social.back_java.dto.common.FeedEntryDTO;
+import com.social.back_java.dto.common.ScheduledPublishDTO;
+import com.social.back_java.dto.common.SitemapEntryDTO;
+import com.social.back_java.dto.common.TrendingItemDTO;
+import com.social.back_java.dto.story.StoryHeaderDTO;
+import com.social.back_java.dto.story.StoryTagDTO;
 import com.social.back_java.model.Story;
 import com.social.back_java.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface StoryRepository extends JpaRepository<Story, Long> {
+public interface StoryRepository extends JpaRepository<Story, Long>, StoryRepositoryCustom {
     Optional<Story> findBySlug(String slug);
     List<Story> findByStatus(String status);
     List<Story> findByAuthor(User author);
+
+    List<Story> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Tags for a page of summaries in one round trip
+    @Query("SELECT new com.social.back_java.dto.story.StoryTagDTO(s.id, t) FROM Story s JOIN s.tags t WHERE s.id IN :ids")
+    List<StoryTagDTO> findTagsByStoryIds(@Param("ids") Collection<Long> ids);
+
+    // Story metadata for the header endpoint, without the blocks
+    @Query("SELECT new com.social.back_java.dto.story.StoryHeaderDTO(s.id, s.title, s.slug, s.description, s.status, " +
+            "s.featuredImage, s.youtubeUrl, a.name, a.avatar, s.views, s.publishedAt, s.createdAt, s.updatedAt) " +
+            "FROM Story s LEFT JOIN s.author a WHERE s.id = :id")
+    Optional<StoryHeaderDTO> findHeaderById(@Param("id") Long id);
+
+    // Titles for the trending list, published stories only
+    @Query("SELECT new com.social.back_java.dto.common.TrendingItemDTO(s.id, s.title, s.slug, s.featuredImage) " +
+            "FROM Story s WHERE s.id IN :ids AND s.status = 'published'")
+    List<TrendingItemDTO> findTrendingItems(@Param("ids") Collection<Long> ids);
+
+    // Versions for conditional GETs, answered without loading the blocks
+    @Query("SELECT new com.social.back_java.dto.common.EntityVersionDTO(s.id, s.updatedAt) FROM Story s WHERE s.id = :id")
+    Optional<EntityVersionDTO> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.social.back_java.dto.common.EntityVersionDTO(s.id, s.updatedAt) FROM Story s WHERE s.slug = :slug")
+    Optional<EntityVersionDTO> findVersionBySlug(@Param("slug") String slug);
+
+    @Query("SELECT new com.social.back_java.dto.common.CollectionVersionDTO(COUNT(s), MAX(s.updatedAt)) FROM Story s")
+    CollectionVersionDTO findCollectionVersion();
+
+    @Query("SELECT new com.social.back_java.dto.common.CollectionVersionDTO(COUNT(s), MAX(s.updatedAt)) FROM Story s WHERE s.status = :status")
+    CollectionVersionDTO findStatusVersion(@Param("status") String status);
+
+    // Timed publishing: pending schedules for the in-memory queue, then a guarded bulk publish of the due ones
+    @Query("SELECT new com.social.back_java.dto.common.ScheduledPublishDTO(s.id, s.scheduledPublishAt) " +
+            "FROM Story s WHERE s.scheduledPublishAt IS NOT NULL")
+    List<ScheduledPublishDTO> findScheduledPublishes();
+
+    @Query("SELECT s.id FROM Story s WHERE s.id IN :ids AND s.scheduledPublishAt <= :now")
+    List<Long> findDueScheduledIds(@Param("ids") Collection<Long> ids, @Param("now") Date now);
+
+    @Modifying
+    @Query("UPDATE Story s SET s.status = 'published', s.publishedAt = s.scheduledPublishAt, " +
+            "s.scheduledPublishAt = NULL, s.updatedAt = :now WHERE s.id IN :ids AND s.scheduledPublishAt <= :now")
+    int publishScheduled(@Param("ids") Collection<Long> ids, @Param("now") Date now);
+
+    // Sitemap and feeds: published stories walked by id without loading blocks
+    @Query("SELECT new com.social.back_java.dto.common.SitemapEntryDTO(s.id, s.slug, s.updatedAt) " +
+            "FROM Story s WHERE s.status = 'published' AND s.id > :afterId ORDER BY s.id")
+    List<SitemapEntryDTO> findSitemapEntries(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT s.id FROM Story s WHERE s.status = 'published' AND s.id > :afterId ORDER BY s.id")
+    List<Long> findSitemapIds(@Param("afterId") Long afterId, Pageable pageable);
+
+    long countByStatus(String status);
+
+    @Query("SELECT new com.social.back_java.dto.common.FeedEntryDTO(s.id, s.slug, s.title, s.description, s.publishedAt, s.updatedAt) " +
+            "FROM Story s WHERE s.status = 'published' ORDER BY s.publishedAt DESC, s.id DESC")
+    List<FeedEntryDTO> findFeedEntries(Pageable pageable);
 }
@@ -0,0 +1,19 @@
+package com.social.back_java.repository;
+
+import com.social.back_java.dto.story.StorySummaryDTO;
+import com.social.back_java.util.CursorUtil;
+
+import java.util.List;
+
+public interface StoryRepositoryCustom {
+
+    /**
+     * Keyset-paginated story summaries in (createdAt DESC, id DESC) order, without blocks or tags
+     * @param status Status to restrict to, or null
+     * @param tag Tag to restrict to, or null
+     * @param after Position of the last row already returned, or null for the first page
+     * @param limit Maximum rows to return
+     * @return Summaries following {@code after}
+     */
+    List<StorySummaryDTO> findSummaries(String status, String tag, CursorUtil.Cursor after, int limit);
+}
@@ -0,0 +1,55 @@
+package com.social.back_java.repository;
+
+import com.social.back_java.dto.story.StorySummaryDTO;
+import com.social.back_java.util.CursorUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StoryRepositoryImpl implements StoryRepositoryCustom {
+
+    // Stories may have no author, hence the left join
+    private static final String SUMMARY_SELECT = "SELECT new com.social.back_java.dto.story.StorySummaryDTO(" +
+            "s.id, s.title, s.slug, s.description, s.featuredImage, a.name, s.views, s.publishedAt, s.createdAt) " +
+            "FROM Story s LEFT JOIN s.author a ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StorySummaryDTO> findSummaries(String status, String tag, CursorUtil.Cursor after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        if (status != null) {
+            conditions.add("s.status = :status");
+        }
+        if (tag != null) {
+            // Uncorrelated so MySQL can drive it from idx_story_tags_tag_story
+            conditions.add("s.id IN (SELECT ts.id FROM Story ts JOIN ts.tags t WHERE t = :tag)");
+        }
+        if (after != null) {
+            conditions.add("(s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id < :id))");
+        }
+
+        StringBuilder jpql = new StringBuilder(SUMMARY_SELECT);
+        if (!conditions.isEmpty()) {
+            jpql.append("WHERE ").append(String.join(" AND ", conditions)).append(' ');
+        }
+        jpql.append("ORDER BY s.createdAt DESC, s.id DESC");
+
+        TypedQuery<StorySummaryDTO> query = entityManager.createQuery(jpql.toString(), StorySummaryDTO.class);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (tag != null) {
+            query.setParameter("tag", tag);
+        }
+        if (after != null) {
+            query.setParameter("createdAt", after.getCreatedAt());
+            query.setParameter("id", after.getId());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
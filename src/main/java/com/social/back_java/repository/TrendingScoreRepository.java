@@ -0,0 +1,9 @@
+package com.social.back_java.repository;
+
+import com.social.back_java.model.TrendingScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrendingScoreRepository extends JpaRepository<TrendingScore, Long> {
+}
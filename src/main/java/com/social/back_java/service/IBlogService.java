@@ -1,27 +1,43 @@
 package com.social.back_java.service;
 
+import com.social.back_java.dto.blog.BlogLikeStatusDTO;
+import com.social.back_java.dto.blog.BlogSummaryDTO;
+import com.social.back_java.dto.blog.CommentDTO;
+import com.social.back_java.dto.common.CollectionVersionDTO;
+import com.social.back_java.dto.common.CursorPage;
+import com.social.back_java.dto.common.EntityVersionDTO;
 import com.social.back_java.model.Blog;
 import com.social.back_java.model.Comment;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface IBlogService {
     List<Blog> getAllBlogs();
+    CursorPage<BlogSummaryDTO> getBlogSummaries(String cursor, Integer size, String category, String status, String tag);
     Optional<Blog> getBlogById(Long id);
     Optional<Blog> getBlogBySlug(String slug);
+    Optional<EntityVersionDTO> getBlogVersion(Long id);
+    Optional<EntityVersionDTO> getBlogVersionBySlug(String slug);
+    CollectionVersionDTO getBlogsVersion(String category, String status);
     List<Blog> getBlogsByCategory(String category);
     List<Blog> getBlogsByStatus(String status);
     Blog createBlog(Blog blog);
     Blog updateBlog(Long id, Blog blog);
     void deleteBlog(Long id);
     Blog publishBlog(Long id);
-    Blog addComment(Long blogId, Comment comment);
-    Blog likeBlog(Long blogId, Long userId);
-    Blog unlikeBlog(Long blogId, Long userId);
-    Blog incrementViews(Long blogId);
+    Blog schedulePublish(Long id, Date publishAt);
+    Blog cancelScheduledPublish(Long id);
+    CommentDTO addComment(Long blogId, Comment comment);
+    CursorPage<CommentDTO> getComments(Long blogId, String cursor, Integer size);
+    BlogLikeStatusDTO likeBlog(Long blogId, Long userId);
+    BlogLikeStatusDTO unlikeBlog(Long blogId, Long userId);
+    Map<Long, Boolean> getLikedStatus(Long userId, List<Long> blogIds);
+    void incrementViews(Long blogId);
     
     // Cloudinary methods
     Blog addImagesToBlog(Long blogId, List<MultipartFile> images) throws IOException;
@@ -0,0 +1,22 @@
+package com.social.back_java.service;
+
+import com.social.back_java.model.Blog;
+import com.social.back_java.model.Story;
+
+/**
+ * Receives blog and story writes after they are committed, so in-memory views of the content stay current
+ */
+public interface IContentChangeListener {
+    void onBlogSaved(Blog blog);
+    void onBlogDeleted(Long blogId);
+    void onStorySaved(Story story);
+    void onStoryDeleted(Long storyId);
+
+    /**
+     * Whether every blog and story should be replayed through the save callbacks on startup,
+     * for listeners that build an index rather than just invalidating
+     */
+    default boolean replayOnStartup() {
+        return false;
+    }
+}
@@ -0,0 +1,12 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.common.RenderedContentDTO;
+import com.social.back_java.util.LruTtlCache;
+
+import java.util.Optional;
+
+public interface IContentRenderService {
+    Optional<RenderedContentDTO> renderBlog(Long blogId);
+    Optional<RenderedContentDTO> renderStory(Long storyId);
+    LruTtlCache.Stats stats();
+}
@@ -0,0 +1,28 @@
+package com.social.back_java.service;
+
+import com.social.back_java.model.Product;
+
+import java.util.List;
+
+/**
+ * Receives product writes after they are committed, so in-memory views of the catalog stay current
+ */
+public interface IProductChangeListener {
+    void onProductSaved(Product product);
+    void onProductDeleted(Long productId);
+
+    /**
+     * Bulk writes arrive here in one call; override when a batch can be applied cheaper than one by one
+     */
+    default void onProductsSaved(List<Product> products) {
+        products.forEach(this::onProductSaved);
+    }
+
+    /**
+     * Whether the whole catalog should be replayed through {@link #onProductSaved} on startup,
+     * for listeners that build an index rather than just invalidating
+     */
+    default boolean replayOnStartup() {
+        return false;
+    }
+}
@@ -0,0 +1,9 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.product.ProductFacetResultDTO;
+
+import java.util.List;
+
+public interface IProductFacetService {
+    ProductFacetResultDTO filter(List<String> categories, List<String> priceBands, Boolean inStock, int page, int size);
+}
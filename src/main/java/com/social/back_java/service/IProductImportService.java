@@ -0,0 +1,11 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.product.ProductImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IProductImportService {
+    ProductImportResultDTO importCsv(InputStream input) throws IOException;
+    ProductImportResultDTO importNdjson(InputStream input) throws IOException;
+}
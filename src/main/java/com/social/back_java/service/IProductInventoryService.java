@@ -0,0 +1,10 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.product.ProductBulkUpdateItem;
+import com.social.back_java.dto.product.ProductBulkUpdateResultDTO;
+
+import java.util.List;
+
+public interface IProductInventoryService {
+    ProductBulkUpdateResultDTO bulkUpdate(List<ProductBulkUpdateItem> items);
+}
@@ -0,0 +1,12 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.product.ProductBestSellerDTO;
+import com.social.back_java.model.Order;
+
+import java.util.List;
+
+public interface IProductLeaderboardService {
+    void recordOrder(Order order);
+    void recordCancellation(Order order);
+    List<ProductBestSellerDTO> getBestSellers(String window, int limit);
+}
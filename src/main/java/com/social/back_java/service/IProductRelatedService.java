@@ -0,0 +1,9 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.product.ProductSummaryDTO;
+
+import java.util.List;
+
+public interface IProductRelatedService {
+    List<ProductSummaryDTO> getRelated(Long productId, int limit);
+}
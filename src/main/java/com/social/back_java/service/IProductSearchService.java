@@ -0,0 +1,10 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.product.ProductSummaryDTO;
+
+import java.util.List;
+
+public interface IProductSearchService {
+    List<ProductSummaryDTO> search(String query, int limit);
+    int indexedCount();
+}
@@ -1,5 +1,9 @@
 package com.social.back_java.service;
 
+import com.social.back_java.dto.common.CollectionVersionDTO;
+import com.social.back_java.dto.common.CursorPage;
+import com.social.back_java.dto.common.EntityVersionDTO;
+import com.social.back_java.dto.product.ProductSummaryDTO;
 import com.social.back_java.model.Product;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -9,9 +13,13 @@ import java.util.Optional;
 
 public interface IProductService {
     List<Product> getAllProducts();
+    CursorPage<ProductSummaryDTO> getProductsPage(String cursor, Integer size, String sort);
     Optional<Product> getProductById(Long id);
-    List<Product> getProductsByCategory(String category);
-    List<Product> searchProducts(String name);
+    Optional<Product> getProductForUpdate(Long id);
+    Optional<EntityVersionDTO> getProductVersion(Long id);
+    CollectionVersionDTO getCatalogVersion(String category);
+    List<ProductSummaryDTO> getProductsByCategory(String category, String sort);
+    List<ProductSummaryDTO> searchProducts(String name);
     Product createProduct(Product product);
     Product updateProduct(Long id, Product product);
     void deleteProduct(Long id);
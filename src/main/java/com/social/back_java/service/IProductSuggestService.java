@@ -0,0 +1,9 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.product.ProductSuggestionDTO;
+
+import java.util.List;
+
+public interface IProductSuggestService {
+    List<ProductSuggestionDTO> suggest(String query, int limit);
+}
@@ -0,0 +1,8 @@
+package com.social.back_java.service;
+
+import java.util.Date;
+
+public interface IPublishSchedulerService {
+    void scheduleBlog(Long blogId, Date publishAt);
+    void scheduleStory(Long storyId, Date publishAt);
+}
@@ -0,0 +1,7 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.search.SiteSearchResultDTO;
+
+public interface ISiteSearchService {
+    SiteSearchResultDTO search(String query, String type, int page, int size);
+}
@@ -0,0 +1,11 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.common.CachedDocumentDTO;
+
+import java.util.Optional;
+
+public interface ISitemapService {
+    CachedDocumentDTO getSitemap();
+    Optional<CachedDocumentDTO> getSitemapShard(String type, int page);
+    CachedDocumentDTO getFeed(String type, String format);
+}
@@ -1,21 +1,44 @@
 package com.social.back_java.service;
 
+import com.social.back_java.dto.common.CollectionVersionDTO;
+import com.social.back_java.dto.common.EntityVersionDTO;
+import com.social.back_java.dto.common.CursorPage;
+import com.social.back_java.dto.story.StoryBlockPage;
+import com.social.back_java.dto.story.StoryBlockRequest;
+import com.social.back_java.dto.story.StoryHeaderDTO;
+import com.social.back_java.dto.story.StorySummaryDTO;
 import com.social.back_java.model.Story;
+import com.social.back_java.model.StoryBlock;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 public interface IStoryService {
     List<Story> getAllStories();
+    CursorPage<StorySummaryDTO> getStorySummaries(String cursor, Integer size, String status, String tag);
     Optional<Story> getStoryById(Long id);
     Optional<Story> getStoryBySlug(String slug);
+    Optional<StoryHeaderDTO> getStoryHeader(Long id, Integer blockLimit);
+    StoryBlockPage getStoryBlocks(Long storyId, Integer fromOrder, Long fromId, Integer limit);
+    Optional<EntityVersionDTO> getStoryVersion(Long id);
+    void recordView(Long storyId);
+    Optional<EntityVersionDTO> getStoryVersionBySlug(String slug);
+    CollectionVersionDTO getStoriesVersion(String status);
     List<Story> getStoriesByStatus(String status);
     Story createStory(Story story);
     Story updateStory(Long id, Story story);
     void deleteStory(Long id);
     Story publishStory(Long id);
+    Story schedulePublish(Long id, Date publishAt);
+    Story cancelScheduledPublish(Long id);
+
+    // Block-level editing, one row per change
+    StoryBlock addBlock(Long storyId, StoryBlockRequest request);
+    StoryBlock updateBlock(Long storyId, Long blockId, StoryBlockRequest request);
+    void deleteBlock(Long storyId, Long blockId) throws IOException;
     
     // Cloudinary methods
     Story uploadFeaturedImage(Long storyId, MultipartFile image) throws IOException;
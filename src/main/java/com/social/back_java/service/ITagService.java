@@ -0,0 +1,9 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.common.TagCountDTO;
+
+import java.util.List;
+
+public interface ITagService {
+    List<TagCountDTO> getTagCloud(String type, int limit);
+}
@@ -0,0 +1,14 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.common.TrendingItemDTO;
+
+import java.util.List;
+
+public interface ITrendingService {
+    void recordBlogView(Long blogId);
+    void recordBlogLike(Long blogId);
+    void recordBlogComment(Long blogId);
+    void recordStoryView(Long storyId);
+    List<TrendingItemDTO> getTrendingBlogs(int limit);
+    List<TrendingItemDTO> getTrendingStories(int limit);
+}
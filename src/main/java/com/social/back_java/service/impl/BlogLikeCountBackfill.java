@@ -0,0 +1,40 @@
+package com.social.back_java.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills blogs.like_count from blog_likes for likes recorded before the counter existed
+ */
+@Component
+public class BlogLikeCountBackfill {
+
+    private static final String REBUILD_LIKE_COUNT =
+            "UPDATE blogs b SET like_count = (SELECT COUNT(*) FROM blog_likes l WHERE l.blog_id = b.id)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${blog.like-count.rebuild-on-startup}")
+    private boolean rebuildLikeCount;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (rebuildLikeCount || likeCountMissing()) {
+            jdbcTemplate.update(REBUILD_LIKE_COUNT);
+        }
+    }
+
+    // Likes exist but no counter was ever incremented: the column was just added
+    private boolean likeCountMissing() {
+        Boolean counted = jdbcTemplate.queryForObject(
+                "SELECT EXISTS(SELECT 1 FROM blogs WHERE like_count > 0)", Boolean.class);
+        Boolean liked = jdbcTemplate.queryForObject(
+                "SELECT EXISTS(SELECT 1 FROM blog_likes)", Boolean.class);
+        return !Boolean.TRUE.equals(counted) && Boolean.TRUE.equals(liked);
+    }
+}
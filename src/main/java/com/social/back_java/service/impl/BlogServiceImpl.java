@@ -1,19 +1,34 @@
 package com.social.back_java.service.impl;
 
+import com.social.back_java.dto.blog.BlogLikeStatusDTO;
+import com.social.back_java.dto.blog.BlogSummaryDTO;
+import com.social.back_java.dto.blog.BlogTagDTO;
+import com.social.back_java.dto.blog.CommentDTO;
+import com.social.back_java.dto.common.CollectionVersionDTO;
+import com.social.back_java.dto.common.CursorPage;
+import com.social.back_java.dto.common.EntityVersionDTO;
 import com.social.back_java.model.Blog;
 import com.social.back_java.model.Comment;
 import com.social.back_java.model.ProductImage;
-import com.social.back_java.model.User;
 import com.social.back_java.repository.BlogRepository;
+import com.social.back_java.repository.CommentRepository;
 import com.social.back_java.repository.UserRepository;
 import com.social.back_java.service.IBlogService;
 import com.social.back_java.service.ICloudinaryService;
+import com.social.back_java.service.IPublishSchedulerService;
+import com.social.back_java.service.ITrendingService;
+import com.social.back_java.util.CursorUtil;
+import com.social.back_java.util.TransactionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -21,113 +36,292 @@ import java.util.Optional;
 @Service
 public class BlogServiceImpl implements IBlogService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_LIKED_STATUS_IDS = 100;
+
     @Autowired
     private BlogRepository blogRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CommentRepository commentRepository;
+
     @Autowired
     private ICloudinaryService cloudinaryService;
 
+    @Autowired
+    private ContentChangePublisher contentChangePublisher;
+
+    @Autowired
+    private BlogViewCounter blogViewCounter;
+
+    @Autowired
+    private ContentSlugRegistry slugRegistry;
+
+    @Autowired
+    private ITrendingService trendingService;
+
+    @Autowired
+    private IPublishSchedulerService publishScheduler;
+
     @Override
     public List<Blog> getAllBlogs() {
-        return blogRepository.findAll();
+        return withPendingViews(blogRepository.findAll());
+    }
+
+    @Override
+    public CursorPage<BlogSummaryDTO> getBlogSummaries(String cursor, Integer size, String category, String status, String tag) {
+        int pageSize = size == null || size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        CursorUtil.Cursor position = cursor == null || cursor.isEmpty() ? null : CursorUtil.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists
+        List<BlogSummaryDTO> blogs = blogRepository.findSummaries(category, status, tag, position, pageSize + 1);
+        boolean hasMore = blogs.size() > pageSize;
+        if (hasMore) {
+            blogs = blogs.subList(0, pageSize);
+        }
+
+        if (!blogs.isEmpty()) {
+            Map<Long, BlogSummaryDTO> byId = new HashMap<>();
+            for (BlogSummaryDTO blog : blogs) {
+                blog.setViews(withPending(blog.getViews(), blog.getId()));
+                byId.put(blog.getId(), blog);
+            }
+            for (BlogTagDTO blogTag : blogRepository.findTagsByBlogIds(byId.keySet())) {
+                byId.get(blogTag.getBlogId()).getTags().add(blogTag.getTag());
+            }
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            BlogSummaryDTO last = blogs.get(blogs.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(blogs, nextCursor, hasMore);
     }
 
     @Override
     public Optional<Blog> getBlogById(Long id) {
-        return blogRepository.findById(id);
+        return blogRepository.findById(id).map(this::withPendingViews);
     }
 
     @Override
     public Optional<Blog> getBlogBySlug(String slug) {
-        return blogRepository.findBySlug(slug);
+        return slugRegistry.findBlogId(slug).flatMap(this::getBlogById);
+    }
+
+    @Override
+    public Optional<EntityVersionDTO> getBlogVersion(Long id) {
+        return slugRegistry.findBlogVersion(id);
+    }
+
+    @Override
+    public Optional<EntityVersionDTO> getBlogVersionBySlug(String slug) {
+        return slugRegistry.findBlogVersionBySlug(slug);
+    }
+
+    @Override
+    public CollectionVersionDTO getBlogsVersion(String category, String status) {
+        if (category != null) {
+            return blogRepository.findCategoryVersion(category);
+        }
+        if (status != null) {
+            return blogRepository.findStatusVersion(status);
+        }
+        return blogRepository.findCollectionVersion();
     }
 
     @Override
     public List<Blog> getBlogsByCategory(String category) {
-        return blogRepository.findByCategory(category);
+        return withPendingViews(blogRepository.findByCategory(category));
     }
 
     @Override
     public List<Blog> getBlogsByStatus(String status) {
-        return blogRepository.findByStatus(status);
+        return withPendingViews(blogRepository.findByStatus(status));
     }
 
     @Override
+    @Transactional
     public Blog createBlog(Blog blog) {
-        return blogRepository.save(blog);
+        return saveAndPublish(blog);
     }
 
     @Override
+    @Transactional
     public Blog updateBlog(Long id, Blog blog) {
         if (blogRepository.existsById(id)) {
             blog.setId(id);
-            return blogRepository.save(blog);
+            return saveAndPublish(blog);
         }
         throw new RuntimeException("Blog not found with id: " + id);
     }
 
     @Override
+    @Transactional
     public void deleteBlog(Long id) {
+        // Comments are no longer cascaded through the blog, so drop them in one statement first
+        commentRepository.deleteByBlogIdInBulk(id);
         blogRepository.deleteById(id);
+        blogViewCounter.forget(id);
+        contentChangePublisher.blogDeleted(id);
     }
 
     @Override
+    @Transactional
     public Blog publishBlog(Long id) {
         Blog blog = blogRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Blog not found with id: " + id));
         blog.setStatus("published");
         blog.setPublishedAt(new Date());
-        return blogRepository.save(blog);
+        blog.setScheduledPublishAt(null);
+        return saveAndPublish(blog);
     }
 
     @Override
-    public Blog addComment(Long blogId, Comment comment) {
-        Blog blog = blogRepository.findById(blogId)
-                .orElseThrow(() -> new RuntimeException("Blog not found with id: " + blogId));
-        blog.getComments().add(comment);
-        return blogRepository.save(blog);
+    @Transactional
+    public Blog schedulePublish(Long id, Date publishAt) {
+        if (publishAt == null || !publishAt.after(new Date())) {
+            throw new IllegalArgumentException("Publish time must be in the future");
+        }
+        Blog blog = blogRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Blog not found with id: " + id));
+        if ("published".equals(blog.getStatus())) {
+            throw new IllegalArgumentException("Blog is already published");
+        }
+        blog.setScheduledPublishAt(publishAt);
+        Blog saved = saveAndPublish(blog);
+        // Queue only once the schedule is committed, since the scheduler re-checks it in the database
+        TransactionUtil.afterCommit(() -> publishScheduler.scheduleBlog(id, publishAt));
+        return saved;
     }
 
     @Override
-    public Blog likeBlog(Long blogId, Long userId) {
-        Blog blog = blogRepository.findById(blogId)
-                .orElseThrow(() -> new RuntimeException("Blog not found with id: " + blogId));
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-        
-        // Check if user already liked - if yes, unlike
-        boolean alreadyLiked = blog.getLikes().removeIf(u -> u.getId().equals(userId));
-        
-        if (!alreadyLiked) {
-            // Like
-            blog.getLikes().add(user);
+    @Transactional
+    public Blog cancelScheduledPublish(Long id) {
+        Blog blog = blogRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Blog not found with id: " + id));
+        // A queued entry may still fire, but finds nothing due and is dropped
+        blog.setScheduledPublishAt(null);
+        return saveAndPublish(blog);
+    }
+
+    @Override
+    @Transactional
+    public CommentDTO addComment(Long blogId, Comment comment) {
+        if (!blogRepository.existsById(blogId)) {
+            throw new RuntimeException("Blog not found with id: " + blogId);
         }
-        
-        return blogRepository.save(blog);
+        if (comment.getUser() == null || comment.getUser().getId() == null
+                || !userRepository.existsById(comment.getUser().getId())) {
+            throw new RuntimeException("User not found");
+        }
+        // Insert the comment on its own instead of loading and re-saving the whole blog
+        comment.setId(null);
+        comment.setBlogId(blogId);
+        Comment saved = commentRepository.saveAndFlush(comment);
+
+        touch(blogId);
+        trendingService.recordBlogComment(blogId);
+        return commentRepository.findDtoById(saved.getId());
     }
 
     @Override
-    public Blog unlikeBlog(Long blogId, Long userId) {
-        Blog blog = blogRepository.findById(blogId)
-                .orElseThrow(() -> new RuntimeException("Blog not found with id: " + blogId));
-        
-        blog.getLikes().removeIf(u -> u.getId().equals(userId));
-        return blogRepository.save(blog);
+    public CursorPage<CommentDTO> getComments(Long blogId, String cursor, Integer size) {
+        if (!blogRepository.existsById(blogId)) {
+            throw new RuntimeException("Blog not found with id: " + blogId);
+        }
+        int pageSize = size == null || size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        // Fetch one extra row to know whether another page exists
+        List<CommentDTO> comments;
+        if (cursor == null || cursor.isEmpty()) {
+            comments = commentRepository.findPageByBlogId(blogId, limit);
+        } else {
+            CursorUtil.Cursor position = CursorUtil.decode(cursor);
+            comments = commentRepository.findPageByBlogIdAfter(blogId, position.getCreatedAt(), position.getId(), limit);
+        }
+        boolean hasMore = comments.size() > pageSize;
+        if (hasMore) {
+            comments = comments.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            CommentDTO last = comments.get(comments.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(comments, nextCursor, hasMore);
     }
 
     @Override
-    public Blog incrementViews(Long blogId) {
-        Blog blog = blogRepository.findById(blogId)
-                .orElseThrow(() -> new RuntimeException("Blog not found with id: " + blogId));
-        
-        blog.setViews(blog.getViews() + 1);
-        return blogRepository.save(blog);
+    @Transactional
+    public BlogLikeStatusDTO likeBlog(Long blogId, Long userId) {
+        requireBlogAndUser(blogId, userId);
+        // Toggle: removing an existing like wins, otherwise add one
+        boolean liked = blogRepository.deleteLike(blogId, userId) == 0;
+        if (liked) {
+            liked = blogRepository.insertLike(blogId, userId) == 1;
+            if (liked) {
+                blogRepository.adjustLikeCount(blogId, 1);
+                touch(blogId);
+                trendingService.recordBlogLike(blogId);
+            }
+        } else {
+            blogRepository.adjustLikeCount(blogId, -1);
+            touch(blogId);
+        }
+        return new BlogLikeStatusDTO(blogId, liked, blogRepository.findLikeCount(blogId));
     }
 
     @Override
+    @Transactional
+    public BlogLikeStatusDTO unlikeBlog(Long blogId, Long userId) {
+        requireBlogAndUser(blogId, userId);
+        if (blogRepository.deleteLike(blogId, userId) == 1) {
+            blogRepository.adjustLikeCount(blogId, -1);
+            touch(blogId);
+        }
+        return new BlogLikeStatusDTO(blogId, false, blogRepository.findLikeCount(blogId));
+    }
+
+    @Override
+    public Map<Long, Boolean> getLikedStatus(Long userId, List<Long> blogIds) {
+        Map<Long, Boolean> status = new LinkedHashMap<>();
+        if (blogIds == null || blogIds.isEmpty()) {
+            return status;
+        }
+        if (blogIds.size() > MAX_LIKED_STATUS_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_LIKED_STATUS_IDS + " ids can be checked at once");
+        }
+        blogIds.forEach(id -> status.put(id, false));
+        for (Long likedId : blogRepository.findLikedBlogIds(userId, status.keySet())) {
+            status.put(likedId, true);
+        }
+        return status;
+    }
+
+    private void requireBlogAndUser(Long blogId, Long userId) {
+        if (!blogRepository.existsById(blogId)) {
+            throw new RuntimeException("Blog not found with id: " + blogId);
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+    }
+
+    @Override
+    public void incrementViews(Long blogId) {
+        blogViewCounter.increment(blogId);
+        trendingService.recordBlogView(blogId);
+    }
+
+    @Override
+    @Transactional
     public Blog addImagesToBlog(Long blogId, List<MultipartFile> images) throws IOException {
         Blog blog = blogRepository.findById(blogId)
                 .orElseThrow(() -> new RuntimeException("Blog not found with id: " + blogId));
@@ -144,10 +338,11 @@ public class BlogServiceImpl implements IBlogService {
             blog.getImages().add(blogImage);
         }
 
-        return blogRepository.save(blog);
+        return saveAndPublish(blog);
     }
 
     @Override
+    @Transactional
     public Blog removeImageFromBlog(Long blogId, String publicId) throws IOException {
         Blog blog = blogRepository.findById(blogId)
                 .orElseThrow(() -> new RuntimeException("Blog not found with id: " + blogId));
@@ -155,6 +350,35 @@ public class BlogServiceImpl implements IBlogService {
         blog.getImages().removeIf(image -> image.getPublicId().equals(publicId));
         cloudinaryService.deleteFile(publicId);
 
-        return blogRepository.save(blog);
+        return saveAndPublish(blog);
+    }
+
+    // views is not updatable, so adding the unflushed count here is never written back
+    private Blog withPendingViews(Blog blog) {
+        blog.setViews(withPending(blog.getViews(), blog.getId()));
+        return blog;
+    }
+
+    // The views column is an INT, so the sum saturates instead of wrapping
+    private int withPending(int views, Long blogId) {
+        return (int) Math.min(Integer.MAX_VALUE, views + blogViewCounter.pending(blogId));
+    }
+
+    private List<Blog> withPendingViews(List<Blog> blogs) {
+        blogs.forEach(this::withPendingViews);
+        return blogs;
+    }
+
+    // The blog JSON embeds its likes and comments, so move its version on for ETag revalidation
+    private void touch(Long blogId) {
+        Date now = new Date();
+        blogRepository.touch(blogId, now);
+        TransactionUtil.afterCommit(() -> slugRegistry.blogTouched(blogId, now));
+    }
+
+    private Blog saveAndPublish(Blog blog) {
+        Blog saved = blogRepository.save(blog);
+        contentChangePublisher.blogSaved(saved);
+        return saved;
     }
 }
@@ -0,0 +1,94 @@
+package com.social.back_java.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind blog view counts. Reads only bump a striped counter; deltas reach the database in
+ * one batched UPDATE per flush instead of a SELECT plus a full-row UPDATE per view.
+ */
+@Component
+public class BlogViewCounter {
+
+    private static final String ADD_VIEWS = "UPDATE blogs SET views = views + ? WHERE id = ?";
+
+    // Counters only grow; flushing records how much has been written instead of resetting,
+    // so an increment racing with a flush is never lost
+    private static class Counter {
+        private final LongAdder total = new LongAdder();
+        private volatile long flushed;
+
+        long pending() {
+            return total.sum() - flushed;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    public void increment(Long blogId) {
+        counters.computeIfAbsent(blogId, id -> new Counter()).total.increment();
+    }
+
+    /**
+     * Views counted in memory but not yet written
+     * @param blogId Blog id
+     * @return Pending views, 0 when none
+     */
+    public long pending(Long blogId) {
+        Counter counter = counters.get(blogId);
+        return counter == null ? 0L : counter.pending();
+    }
+
+    public void forget(Long blogId) {
+        counters.remove(blogId);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.views.flush-interval-ms}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<Counter> flushing = new ArrayList<>();
+        List<Long> previous = new ArrayList<>();
+        List<Long> totals = new ArrayList<>();
+        List<Object[]> args = new ArrayList<>();
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            long total = counter.total.sum();
+            if (total > counter.flushed) {
+                flushing.add(counter);
+                previous.add(counter.flushed);
+                totals.add(total);
+                args.add(new Object[]{total - counter.flushed, entry.getKey()});
+            }
+        }
+        if (args.isEmpty()) {
+            return;
+        }
+
+        // Watermarks move before the write, so a reader never adds pending views the database already
+        // holds; until the batch commits a reader may briefly see fewer views instead of counting some twice
+        for (int i = 0; i < flushing.size(); i++) {
+            flushing.get(i).flushed = totals.get(i);
+        }
+        try {
+            jdbcTemplate.batchUpdate(ADD_VIEWS, args);
+        } catch (RuntimeException e) {
+            // Restore the watermarks, so the same deltas are retried next time
+            for (int i = 0; i < flushing.size(); i++) {
+                flushing.get(i).flushed = previous.get(i);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.model.Blog;
+import com.social.back_java.model.Story;
+import com.social.back_java.repository.BlogRepository;
+import com.social.back_java.repository.StoryRepository;
+import com.social.back_java.service.IContentChangeListener;
+import com.social.back_java.util.TransactionUtil;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@Component
+public class ContentChangePublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentChangePublisher.class);
+
+    private static final int REPLAY_BATCH_SIZE = 200;
+
+    @Autowired
+    private List<IContentChangeListener> listeners;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Notify listeners once the current transaction commits. Must be called inside the writing
+     * transaction: the lazy collections listeners read are loaded here, while the session is open.
+     * @param blog Saved blog
+     */
+    public void blogSaved(Blog blog) {
+        Hibernate.initialize(blog.getTags());
+        TransactionUtil.afterCommit(() -> dispatch(listener -> listener.onBlogSaved(blog)));
+    }
+
+    public void blogDeleted(Long blogId) {
+        TransactionUtil.afterCommit(() -> dispatch(listener -> listener.onBlogDeleted(blogId)));
+    }
+
+    /**
+     * Notify listeners once the current transaction commits. Must be called inside the writing
+     * transaction: the lazy collections listeners read are loaded here, while the session is open.
+     * @param story Saved story
+     */
+    public void storySaved(Story story) {
+        Hibernate.initialize(story.getTags());
+        Hibernate.initialize(story.getBlocks());
+        TransactionUtil.afterCommit(() -> dispatch(listener -> listener.onStorySaved(story)));
+    }
+
+    public void storyDeleted(Long storyId) {
+        TransactionUtil.afterCommit(() -> dispatch(listener -> listener.onStoryDeleted(storyId)));
+    }
+
+    // The write is already committed, so one failing listener must neither fail the request nor starve the others
+    private void dispatch(Consumer<IContentChangeListener> event) {
+        for (IContentChangeListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                log.error("Content change listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    /**
+     * Feed every blog and story to indexing listeners once on startup. Each batch runs in a read-only
+     * transaction so listeners can walk the lazy tag and block collections.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayContent() {
+        List<IContentChangeListener> indexes = listeners.stream()
+                .filter(IContentChangeListener::replayOnStartup)
+                .toList();
+        if (indexes.isEmpty()) {
+            return;
+        }
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long[] lastId = {0};
+        List<Blog> blogs;
+        do {
+            blogs = readOnly.execute(status -> {
+                List<Blog> batch = blogRepository.findByIdGreaterThanOrderByIdAsc(lastId[0], PageRequest.of(0, REPLAY_BATCH_SIZE));
+                for (Blog blog : batch) {
+                    indexes.forEach(listener -> listener.onBlogSaved(blog));
+                    lastId[0] = blog.getId();
+                }
+                return batch;
+            });
+        } while (blogs.size() == REPLAY_BATCH_SIZE);
+
+        lastId[0] = 0;
+        List<Story> stories;
+        do {
+            stories = readOnly.execute(status -> {
+                List<Story> batch = storyRepository.findByIdGreaterThanOrderByIdAsc(lastId[0], PageRequest.of(0, REPLAY_BATCH_SIZE));
+                for (Story story : batch) {
+                    indexes.forEach(listener -> listener.onStorySaved(story));
+                    lastId[0] = story.getId();
+                }
+                return batch;
+            });
+        } while (stories.size() == REPLAY_BATCH_SIZE);
+    }
+}
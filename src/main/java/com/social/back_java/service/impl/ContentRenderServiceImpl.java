@@ -0,0 +1,157 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.common.EntityVersionDTO;
+import com.social.back_java.dto.common.RenderedContentDTO;
+import com.social.back_java.model.Blog;
+import com.social.back_java.model.Story;
+import com.social.back_java.model.StoryBlock;
+import com.social.back_java.repository.BlogRepository;
+import com.social.back_java.repository.StoryRepository;
+import com.social.back_java.service.IContentChangeListener;
+import com.social.back_java.service.IContentRenderService;
+import com.social.back_java.util.ContentRenderer;
+import com.social.back_java.util.LruTtlCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Renders blog and story bodies to sanitized HTML once per version. Entries are keyed by type and id and
+ * carry the updatedAt they were rendered from, so a request costs one version lookup and, while the
+ * content is unchanged, a copy of the cached bytes.
+ */
+@Service
+public class ContentRenderServiceImpl implements IContentRenderService, IContentChangeListener {
+
+    @Value("${content.render.max-entries}")
+    private int maxEntries;
+
+    @Value("${content.render.ttl-seconds}")
+    private long ttlSeconds;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private ContentSlugRegistry slugRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private LruTtlCache<String, RenderedContentDTO> rendered;
+    private TransactionTemplate readOnly;
+
+    @PostConstruct
+    void init() {
+        rendered = new LruTtlCache<>("rendered-content", maxEntries, ttlSeconds * 1000);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Override
+    public Optional<RenderedContentDTO> renderBlog(Long blogId) {
+        return render("blog:" + blogId, slugRegistry.findBlogVersion(blogId),
+                () -> blogRepository.findById(blogId).map(this::renderBlogBody).orElse(null));
+    }
+
+    @Override
+    public Optional<RenderedContentDTO> renderStory(Long storyId) {
+        return render("story:" + storyId, slugRegistry.findStoryVersion(storyId),
+                () -> storyRepository.findById(storyId).map(this::renderStoryBody).orElse(null));
+    }
+
+    @Override
+    public LruTtlCache.Stats stats() {
+        return rendered.stats();
+    }
+
+    @Scheduled(fixedDelayString = "${content.render.purge-interval-ms}")
+    public void purgeExpired() {
+        rendered.purgeExpired();
+    }
+
+    private Optional<RenderedContentDTO> render(String key, Optional<EntityVersionDTO> version,
+                                                Supplier<RenderedContentDTO> renderer) {
+        if (version.isEmpty()) {
+            return Optional.empty();
+        }
+        RenderedContentDTO cached = rendered.get(key);
+        if (cached != null && Objects.equals(time(cached.getUpdatedAt()), time(version.get().getUpdatedAt()))) {
+            return Optional.of(cached);
+        }
+
+        // Story blocks are lazy, so load and render inside one read-only transaction
+        RenderedContentDTO fresh = readOnly.execute(status -> renderer.get());
+        if (fresh != null) {
+            rendered.put(key, fresh);
+        }
+        return Optional.ofNullable(fresh);
+    }
+
+    private RenderedContentDTO renderBlogBody(Blog blog) {
+        return toRendered(blog.getId(), blog.getUpdatedAt(), ContentRenderer.markdownToHtml(blog.getContent()));
+    }
+
+    private RenderedContentDTO renderStoryBody(Story story) {
+        List<StoryBlock> blocks = new ArrayList<>(story.getBlocks());
+        blocks.sort(Comparator.comparingInt(StoryBlock::getSortOrder));
+
+        StringBuilder html = new StringBuilder();
+        for (StoryBlock block : blocks) {
+            if ("image".equals(block.getType())) {
+                if (block.getImageUrl() != null && !block.getImageUrl().isEmpty()) {
+                    html.append(ContentRenderer.figure(block.getImageUrl(), block.getImageAlt(), block.getImageCaption()));
+                }
+            } else {
+                html.append(ContentRenderer.markdownToHtml(block.getContent()));
+            }
+        }
+        return toRendered(story.getId(), story.getUpdatedAt(), html.toString());
+    }
+
+    private RenderedContentDTO toRendered(Long id, Date updatedAt, String html) {
+        byte[] bytes = ContentRenderer.sanitize(html).getBytes(StandardCharsets.UTF_8);
+        return new RenderedContentDTO(id, updatedAt, bytes, ContentRenderer.gzip(bytes));
+    }
+
+    // Dates loaded through different queries may be Timestamp or Date, so compare instants
+    private Long time(Date date) {
+        return date != null ? date.getTime() : null;
+    }
+
+    @Override
+    public void onBlogSaved(Blog blog) {
+        rendered.invalidate("blog:" + blog.getId());
+    }
+
+    @Override
+    public void onBlogDeleted(Long blogId) {
+        rendered.invalidate("blog:" + blogId);
+    }
+
+    @Override
+    public void onStorySaved(Story story) {
+        rendered.invalidate("story:" + story.getId());
+    }
+
+    @Override
+    public void onStoryDeleted(Long storyId) {
+        rendered.invalidate("story:" + storyId);
+    }
+}
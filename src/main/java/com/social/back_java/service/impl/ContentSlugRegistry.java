@@ -0,0 +1,152 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.common.EntityVersionDTO;
+import com.social.back_java.model.Blog;
+import com.social.back_java.model.Story;
+import com.social.back_java.repository.BlogRepository;
+import com.social.back_java.repository.StoryRepository;
+import com.social.back_java.service.IContentChangeListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory slug to id and id to version maps for blogs and stories, filled by the startup replay of
+ * ContentChangePublisher and kept current by the same save and delete events. Lookups that miss fall
+ * back to the database, which covers the startup window and rows written by other instances.
+ */
+@Component
+public class ContentSlugRegistry implements IContentChangeListener {
+
+    private static class Entry {
+        private final String slug;
+        private final Date updatedAt;
+
+        private Entry(String slug, Date updatedAt) {
+            this.slug = slug;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    // Reads are lock-free; writes are serialized so the two maps never disagree for long
+    private static class Registry {
+        private final Map<String, Long> idsBySlug = new ConcurrentHashMap<>();
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+        synchronized void put(Long id, String slug, Date updatedAt) {
+            Entry previous = entries.get(id);
+            // The startup replay can race with a save; never go back to an older version
+            if (previous != null && previous.updatedAt != null && updatedAt != null
+                    && previous.updatedAt.after(updatedAt)) {
+                return;
+            }
+            if (previous != null && previous.slug != null && !previous.slug.equals(slug)) {
+                idsBySlug.remove(previous.slug, id);
+            }
+            entries.put(id, new Entry(slug, updatedAt));
+            if (slug != null) {
+                idsBySlug.put(slug, id);
+            }
+        }
+
+        synchronized void touch(Long id, Date updatedAt) {
+            Entry previous = entries.get(id);
+            if (previous != null) {
+                put(id, previous.slug, updatedAt);
+            }
+        }
+
+        synchronized void remove(Long id) {
+            Entry previous = entries.remove(id);
+            if (previous != null && previous.slug != null) {
+                idsBySlug.remove(previous.slug, id);
+            }
+        }
+
+        Long idForSlug(String slug) {
+            return slug != null ? idsBySlug.get(slug) : null;
+        }
+
+        EntityVersionDTO version(Long id) {
+            Entry entry = entries.get(id);
+            return entry != null ? new EntityVersionDTO(id, entry.updatedAt) : null;
+        }
+    }
+
+    private final Registry blogs = new Registry();
+    private final Registry stories = new Registry();
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    public Optional<Long> findBlogId(String slug) {
+        Long id = blogs.idForSlug(slug);
+        return id != null ? Optional.of(id) : blogRepository.findVersionBySlug(slug).map(EntityVersionDTO::getId);
+    }
+
+    public Optional<EntityVersionDTO> findBlogVersion(Long id) {
+        EntityVersionDTO version = blogs.version(id);
+        return version != null ? Optional.of(version) : blogRepository.findVersionById(id);
+    }
+
+    public Optional<EntityVersionDTO> findBlogVersionBySlug(String slug) {
+        Long id = blogs.idForSlug(slug);
+        return id != null ? findBlogVersion(id) : blogRepository.findVersionBySlug(slug);
+    }
+
+    public Optional<Long> findStoryId(String slug) {
+        Long id = stories.idForSlug(slug);
+        return id != null ? Optional.of(id) : storyRepository.findVersionBySlug(slug).map(EntityVersionDTO::getId);
+    }
+
+    public Optional<EntityVersionDTO> findStoryVersion(Long id) {
+        EntityVersionDTO version = stories.version(id);
+        return version != null ? Optional.of(version) : storyRepository.findVersionById(id);
+    }
+
+    public Optional<EntityVersionDTO> findStoryVersionBySlug(String slug) {
+        Long id = stories.idForSlug(slug);
+        return id != null ? findStoryVersion(id) : storyRepository.findVersionBySlug(slug);
+    }
+
+    /**
+     * Record a new version for a blog whose row was bumped without going through a save, e.g. a new comment
+     * @param blogId Blog id
+     * @param updatedAt New modification time
+     */
+    public void blogTouched(Long blogId, Date updatedAt) {
+        blogs.touch(blogId, updatedAt);
+    }
+
+    @Override
+    public boolean replayOnStartup() {
+        return true;
+    }
+
+    @Override
+    public void onBlogSaved(Blog blog) {
+        blogs.put(blog.getId(), blog.getSlug(), blog.getUpdatedAt());
+    }
+
+    @Override
+    public void onBlogDeleted(Long blogId) {
+        blogs.remove(blogId);
+    }
+
+    @Override
+    public void onStorySaved(Story story) {
+        stories.put(story.getId(), story.getSlug(), story.getUpdatedAt());
+    }
+
+    @Override
+    public void onStoryDeleted(Long storyId) {
+        stories.remove(storyId);
+    }
+}
@@ -6,6 +6,7 @@ import com.social.back_java.repository.OrderRepository;
 import com.social.back_java.repository.ProductRepository;
 import com.social.back_java.repository.UserRepository;
 import com.social.back_java.service.IOrderService;
+import com.social.back_java.service.IProductLeaderboardService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +32,12 @@ public class OrderServiceImpl implements IOrderService {
     @Autowired
     private CartRepository cartRepository;
 
+    @Autowired
+    private ProductChangePublisher productChangePublisher;
+
+    @Autowired
+    private IProductLeaderboardService productLeaderboardService;
+
     @Override
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
@@ -151,13 +158,17 @@ public class OrderServiceImpl implements IOrderService {
         // Save order
         Order savedOrder = orderRepository.save(order);
 
-        // Update product stock
+        // Update product stock and sales counters
         for (CartItem cartItem : cart.getItems()) {
             Product product = cartItem.getProduct();
             product.setStock(product.getStock() - cartItem.getQuantity());
-            productRepository.save(product);
+            productRepository.addSales(product.getId(), cartItem.getQuantity());
+            product.setSalesCount(product.getSalesCount() + cartItem.getQuantity());
+            productChangePublisher.productSaved(productRepository.save(product));
         }
 
+        productLeaderboardService.recordOrder(savedOrder);
+
         // Clear cart after successful order
         cart.getItems().clear();
         cartRepository.save(cart);
@@ -212,16 +223,20 @@ public class OrderServiceImpl implements IOrderService {
         statusHistory.setTimestamp(new Date());
         order.getStatusHistory().add(statusHistory);
 
-        // Restore stock
+        // Restore stock and take the units back out of the sales counters
         for (OrderItem item : order.getItems()) {
             Product product = productRepository.findById(item.getProduct().getId())
                     .orElse(null);
             if (product != null) {
                 product.setStock(product.getStock() + item.getQuantity());
-                productRepository.save(product);
+                productRepository.removeSales(product.getId(), item.getQuantity());
+                product.setSalesCount(Math.max(product.getSalesCount() - item.getQuantity(), 0));
+                productChangePublisher.productSaved(productRepository.save(product));
             }
         }
 
+        productLeaderboardService.recordCancellation(order);
+
         return orderRepository.save(order);
     }
 }
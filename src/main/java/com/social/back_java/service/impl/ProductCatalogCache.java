@@ -0,0 +1,75 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.model.Product;
+import com.social.back_java.service.IProductChangeListener;
+import com.social.back_java.util.LruTtlCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Component
+public class ProductCatalogCache implements IProductChangeListener {
+
+    @Value("${catalog.cache.max-entries}")
+    private int maxEntries;
+
+    @Value("${catalog.cache.list-max-entries}")
+    private int listMaxEntries;
+
+    @Value("${catalog.cache.ttl-seconds}")
+    private long ttlSeconds;
+
+    private LruTtlCache<Long, Product> products;
+
+    // Pages and category listings; any product write clears them all since one product
+    // can appear in many of them
+    private LruTtlCache<String, Object> lists;
+
+    @PostConstruct
+    void init() {
+        products = new LruTtlCache<>("products", maxEntries, ttlSeconds * 1000);
+        lists = new LruTtlCache<>("product-lists", listMaxEntries, ttlSeconds * 1000);
+    }
+
+    public Optional<Product> getProduct(Long id, Supplier<Optional<Product>> loader) {
+        return Optional.ofNullable(products.getOrLoad(id, key -> loader.get().orElse(null)));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getList(String key, Supplier<T> loader) {
+        return (T) lists.getOrLoad(key, k -> loader.get());
+    }
+
+    public List<LruTtlCache.Stats> stats() {
+        return List.of(products.stats(), lists.stats());
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.cache.purge-interval-ms}")
+    public void purgeExpired() {
+        products.purgeExpired();
+        lists.purgeExpired();
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        products.invalidate(product.getId());
+        lists.invalidateAll();
+    }
+
+    @Override
+    public void onProductsSaved(List<Product> changed) {
+        changed.forEach(product -> products.invalidate(product.getId()));
+        lists.invalidateAll();
+    }
+
+    @Override
+    public void onProductDeleted(Long productId) {
+        products.invalidate(productId);
+        lists.invalidateAll();
+    }
+}
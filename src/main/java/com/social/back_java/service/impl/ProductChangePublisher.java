@@ -0,0 +1,61 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.model.Product;
+import com.social.back_java.repository.ProductRepository;
+import com.social.back_java.service.IProductChangeListener;
+import com.social.back_java.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ProductChangePublisher {
+
+    private static final int REPLAY_BATCH_SIZE = 500;
+
+    @Autowired
+    private List<IProductChangeListener> listeners;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    public void productSaved(Product product) {
+        TransactionUtil.afterCommit(() -> listeners.forEach(listener -> listener.onProductSaved(product)));
+    }
+
+    public void productsSaved(List<Product> products) {
+        TransactionUtil.afterCommit(() -> listeners.forEach(listener -> listener.onProductsSaved(products)));
+    }
+
+    public void productDeleted(Long productId) {
+        TransactionUtil.afterCommit(() -> listeners.forEach(listener -> listener.onProductDeleted(productId)));
+    }
+
+    /**
+     * Feed the whole catalog to indexing listeners once on startup, walking products in id order
+     * so memory stays bounded by one batch
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayCatalog() {
+        List<IProductChangeListener> indexes = listeners.stream()
+                .filter(IProductChangeListener::replayOnStartup)
+                .toList();
+        if (indexes.isEmpty()) {
+            return;
+        }
+
+        long lastId = 0;
+        List<Product> batch;
+        do {
+            batch = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REPLAY_BATCH_SIZE));
+            for (Product product : batch) {
+                indexes.forEach(listener -> listener.onProductSaved(product));
+                lastId = product.getId();
+            }
+        } while (batch.size() == REPLAY_BATCH_SIZE);
+    }
+}
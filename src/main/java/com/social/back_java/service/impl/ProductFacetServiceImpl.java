@@ -0,0 +1,341 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.product.ProductFacetResultDTO;
+import com.social.back_java.dto.product.ProductSummaryDTO;
+import com.social.back_java.model.Product;
+import com.social.back_java.service.IProductChangeListener;
+import com.social.back_java.service.IProductFacetService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+@Service
+public class ProductFacetServiceImpl implements IProductFacetService, IProductChangeListener {
+
+    private static final String IN_STOCK = "inStock";
+    private static final String OUT_OF_STOCK = "outOfStock";
+    private static final String UNCATEGORIZED = "";
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Newest first, matching the catalog listing order
+    private static final Comparator<FacetEntry> LISTING_ORDER = Comparator
+            .comparing((FacetEntry entry) -> entry.createdAt)
+            .thenComparing(entry -> entry.id)
+            .reversed();
+
+    private static class FacetEntry {
+        private final long id;
+        private final long createdAt;
+        private final String category;
+        private final String priceBand;
+        private final String availability;
+        private final ProductSummaryDTO summary;
+
+        private FacetEntry(long id, long createdAt, String category, String priceBand, String availability, ProductSummaryDTO summary) {
+            this.id = id;
+            this.createdAt = createdAt;
+            this.category = category;
+            this.priceBand = priceBand;
+            this.availability = availability;
+            this.summary = summary;
+        }
+    }
+
+    // Entries holding any of the selected values of one facet; the values of a facet never overlap
+    private static class Candidates {
+        private final List<TreeSet<FacetEntry>> postings = new ArrayList<>();
+        private int size;
+    }
+
+    @Value("${catalog.facets.price-bands}")
+    private double[] priceBandBounds;
+
+    private String[] priceBandLabels;
+
+    private final Map<Long, FacetEntry> entriesById = new HashMap<>();
+    private final TreeSet<FacetEntry> entriesInOrder = new TreeSet<>(LISTING_ORDER);
+
+    // Unfiltered counts, kept current on every write so the landing page needs no pass at all
+    private final Map<String, Integer> categoryCounts = new HashMap<>();
+    private final Map<String, Integer> priceBandCounts = new HashMap<>();
+    private final Map<String, Integer> availabilityCounts = new HashMap<>();
+
+    // Posting sets per facet value in listing order, so a filtered request only visits matching entries
+    private final Map<String, TreeSet<FacetEntry>> categoryPostings = new HashMap<>();
+    private final Map<String, TreeSet<FacetEntry>> priceBandPostings = new HashMap<>();
+    private final Map<String, TreeSet<FacetEntry>> availabilityPostings = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    void init() {
+        priceBandLabels = new String[priceBandBounds.length + 1];
+        double lower = 0;
+        for (int i = 0; i < priceBandBounds.length; i++) {
+            priceBandLabels[i] = formatPrice(lower) + "-" + formatPrice(priceBandBounds[i]);
+            lower = priceBandBounds[i];
+        }
+        priceBandLabels[priceBandBounds.length] = formatPrice(lower) + "+";
+    }
+
+    @Override
+    public ProductFacetResultDTO filter(List<String> categories, List<String> priceBands, Boolean inStock, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageIndex = Math.max(page, 0);
+        Set<String> categoryFilter = toFilter(categories);
+        Set<String> priceBandFilter = toFilter(priceBands);
+        String availabilityFilter = inStock == null ? null : (inStock ? IN_STOCK : OUT_OF_STOCK);
+
+        lock.readLock().lock();
+        try {
+            if (categoryFilter == null && priceBandFilter == null && availabilityFilter == null) {
+                return unfiltered(pageIndex, pageSize);
+            }
+
+            Candidates byCategory = candidates(categoryPostings, categoryFilter);
+            Candidates byPriceBand = candidates(priceBandPostings, priceBandFilter);
+            Candidates byAvailability = candidates(availabilityPostings, availabilityFilter == null ? null : Set.of(availabilityFilter));
+
+            // Each facet is counted against the other active filters only, so users still see how many
+            // items they would get by switching that facet value; without other filters the totals apply
+            Map<String, Integer> categoryResult = new TreeMap<>();
+            Candidates categorySource = smallest(byPriceBand, byAvailability);
+            if (categorySource == null) {
+                categoryResult.putAll(categoryCounts);
+            } else {
+                count(categorySource, categoryResult, entry -> entry.category,
+                        null, priceBandFilter, availabilityFilter);
+            }
+
+            Map<String, Integer> priceBandResult = emptyPriceBandCounts();
+            Candidates priceBandSource = smallest(byCategory, byAvailability);
+            if (priceBandSource == null) {
+                priceBandResult.putAll(priceBandCounts);
+            } else {
+                count(priceBandSource, priceBandResult, entry -> entry.priceBand,
+                        categoryFilter, null, availabilityFilter);
+            }
+
+            Map<String, Integer> availabilityResult = emptyAvailabilityCounts();
+            Candidates availabilitySource = smallest(byCategory, byPriceBand);
+            if (availabilitySource == null) {
+                availabilityResult.putAll(availabilityCounts);
+            } else {
+                count(availabilitySource, availabilityResult, entry -> entry.availability,
+                        categoryFilter, priceBandFilter, null);
+            }
+
+            // Matches come from the smallest selected posting sets, checked against the other filters
+            List<FacetEntry> matched = new ArrayList<>();
+            for (TreeSet<FacetEntry> posting : smallest(byCategory, byPriceBand, byAvailability).postings) {
+                for (FacetEntry entry : posting) {
+                    if (matches(entry, categoryFilter, priceBandFilter, availabilityFilter)) {
+                        matched.add(entry);
+                    }
+                }
+            }
+            matched.sort(LISTING_ORDER);
+
+            int total = matched.size();
+            long offset = (long) pageIndex * pageSize;
+            List<ProductSummaryDTO> items = new ArrayList<>(pageSize);
+            for (long i = offset; i < total && items.size() < pageSize; i++) {
+                items.add(matched.get((int) i).summary);
+            }
+            return new ProductFacetResultDTO(items, total, pageIndex, pageSize,
+                    categoryResult, priceBandResult, availabilityResult);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        FacetEntry entry = toEntry(product);
+        lock.writeLock().lock();
+        try {
+            removeInternal(product.getId());
+            entriesById.put(entry.id, entry);
+            entriesInOrder.add(entry);
+            categoryCounts.merge(entry.category, 1, Integer::sum);
+            priceBandCounts.merge(entry.priceBand, 1, Integer::sum);
+            availabilityCounts.merge(entry.availability, 1, Integer::sum);
+            categoryPostings.computeIfAbsent(entry.category, key -> new TreeSet<>(LISTING_ORDER)).add(entry);
+            priceBandPostings.computeIfAbsent(entry.priceBand, key -> new TreeSet<>(LISTING_ORDER)).add(entry);
+            availabilityPostings.computeIfAbsent(entry.availability, key -> new TreeSet<>(LISTING_ORDER)).add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onProductDeleted(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean replayOnStartup() {
+        return true;
+    }
+
+    private ProductFacetResultDTO unfiltered(int pageIndex, int pageSize) {
+        List<ProductSummaryDTO> items = new ArrayList<>(pageSize);
+        long skip = (long) pageIndex * pageSize;
+        // Past the last page there is nothing to walk over
+        Iterable<FacetEntry> walk = skip < entriesInOrder.size() ? entriesInOrder : List.of();
+        for (FacetEntry entry : walk) {
+            if (items.size() >= pageSize) {
+                break;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            items.add(entry.summary);
+        }
+
+        Map<String, Integer> priceBandResult = emptyPriceBandCounts();
+        priceBandResult.putAll(priceBandCounts);
+        Map<String, Integer> availabilityResult = emptyAvailabilityCounts();
+        availabilityResult.putAll(availabilityCounts);
+        return new ProductFacetResultDTO(items, entriesById.size(), pageIndex, pageSize,
+                new TreeMap<>(categoryCounts), priceBandResult, availabilityResult);
+    }
+
+    private void removeInternal(Long productId) {
+        FacetEntry previous = entriesById.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        entriesInOrder.remove(previous);
+        decrement(categoryCounts, previous.category);
+        decrement(priceBandCounts, previous.priceBand);
+        decrement(availabilityCounts, previous.availability);
+        removePosting(categoryPostings, previous.category, previous);
+        removePosting(priceBandPostings, previous.priceBand, previous);
+        removePosting(availabilityPostings, previous.availability, previous);
+    }
+
+    private static void removePosting(Map<String, TreeSet<FacetEntry>> postings, String value, FacetEntry entry) {
+        TreeSet<FacetEntry> posting = postings.get(value);
+        if (posting != null) {
+            posting.remove(entry);
+            if (posting.isEmpty()) {
+                postings.remove(value);
+            }
+        }
+    }
+
+    private static Candidates candidates(Map<String, TreeSet<FacetEntry>> postings, Set<String> filter) {
+        if (filter == null) {
+            return null;
+        }
+        Candidates candidates = new Candidates();
+        for (String value : filter) {
+            TreeSet<FacetEntry> posting = postings.get(value);
+            if (posting != null) {
+                candidates.postings.add(posting);
+                candidates.size += posting.size();
+            }
+        }
+        return candidates;
+    }
+
+    // Smallest of the active facets' candidates, or null when none of them is filtered
+    private static Candidates smallest(Candidates... options) {
+        Candidates smallest = null;
+        for (Candidates option : options) {
+            if (option != null && (smallest == null || option.size < smallest.size)) {
+                smallest = option;
+            }
+        }
+        return smallest;
+    }
+
+    private static void count(Candidates source, Map<String, Integer> result, Function<FacetEntry, String> facet,
+                              Set<String> categoryFilter, Set<String> priceBandFilter, String availabilityFilter) {
+        for (TreeSet<FacetEntry> posting : source.postings) {
+            for (FacetEntry entry : posting) {
+                if (matches(entry, categoryFilter, priceBandFilter, availabilityFilter)) {
+                    result.merge(facet.apply(entry), 1, Integer::sum);
+                }
+            }
+        }
+    }
+
+    private static boolean matches(FacetEntry entry, Set<String> categoryFilter, Set<String> priceBandFilter,
+                                   String availabilityFilter) {
+        return (categoryFilter == null || categoryFilter.contains(entry.category))
+                && (priceBandFilter == null || priceBandFilter.contains(entry.priceBand))
+                && (availabilityFilter == null || availabilityFilter.equals(entry.availability));
+    }
+
+    private FacetEntry toEntry(Product product) {
+        Double effectivePrice = product.getPricegiamgia() != null ? product.getPricegiamgia() : product.getPrice();
+        String category = product.getCategory() != null ? product.getCategory() : UNCATEGORIZED;
+        long createdAt = product.getCreatedAt() != null ? product.getCreatedAt().getTime() : 0L;
+        return new FacetEntry(
+                product.getId(),
+                createdAt,
+                category,
+                priceBandOf(effectivePrice != null ? effectivePrice : 0.0),
+                product.getStock() > 0 ? IN_STOCK : OUT_OF_STOCK,
+                ProductSummaryDTO.from(product)
+        );
+    }
+
+    private String priceBandOf(double price) {
+        for (int i = 0; i < priceBandBounds.length; i++) {
+            if (price < priceBandBounds[i]) {
+                return priceBandLabels[i];
+            }
+        }
+        return priceBandLabels[priceBandBounds.length];
+    }
+
+    // Keep every band and availability key in the response, even at zero, so the UI can render them all
+    private Map<String, Integer> emptyPriceBandCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String label : priceBandLabels) {
+            counts.put(label, 0);
+        }
+        return counts;
+    }
+
+    private Map<String, Integer> emptyAvailabilityCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put(IN_STOCK, 0);
+        counts.put(OUT_OF_STOCK, 0);
+        return counts;
+    }
+
+    private static void decrement(Map<String, Integer> counts, String key) {
+        counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static Set<String> toFilter(List<String> values) {
+        return values == null || values.isEmpty() ? null : new HashSet<>(values);
+    }
+
+    private static String formatPrice(double price) {
+        return price == Math.rint(price) ? String.valueOf((long) price) : String.valueOf(price);
+    }
+}
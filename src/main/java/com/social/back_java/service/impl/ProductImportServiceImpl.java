@@ -0,0 +1,341 @@
+package com.social.back_java.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.social.back_java.dto.product.ProductImportErrorDTO;
+import com.social.back_java.dto.product.ProductImportResultDTO;
+import com.social.back_java.dto.product.ProductImportRow;
+import com.social.back_java.model.Product;
+import com.social.back_java.model.ProductImage;
+import com.social.back_java.service.IProductImportService;
+import com.social.back_java.util.CsvReader;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+public class ProductImportServiceImpl implements IProductImportService {
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products " +
+            "(name, description, price, pricegiamgia, effective_price, category, stock, youtube_url, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_IMAGE = "INSERT INTO product_images " +
+            "(product_id, url, public_id, alt, is_primary) VALUES (?, ?, ?, ?, ?)";
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 2000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductChangePublisher productChangePublisher;
+
+    @Value("${catalog.import.batch-size}")
+    private int batchSize;
+
+    @Value("${catalog.import.max-errors}")
+    private int maxErrors;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public ProductImportResultDTO importCsv(InputStream input) throws IOException {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        ImportSession session = new ImportSession();
+        if (header == null) {
+            return session.finish();
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Spreadsheet exports often start with a byte order mark
+            String column = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.put(column, i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("price")) {
+            throw new IllegalArgumentException("CSV header must contain at least the name and price columns");
+        }
+
+        long rowNumber = 0;
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            rowNumber++;
+            if (record.stream().allMatch(String::isBlank)) {
+                continue;
+            }
+            ProductImportRow row;
+            try {
+                row = toRow(record, columns);
+            } catch (IllegalArgumentException e) {
+                session.reject(rowNumber, e.getMessage());
+                continue;
+            }
+            session.add(rowNumber, row);
+        }
+        return session.finish();
+    }
+
+    @Override
+    public ProductImportResultDTO importNdjson(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ImportSession session = new ImportSession();
+
+        long rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            ProductImportRow row;
+            try {
+                row = objectMapper.readValue(line, ProductImportRow.class);
+            } catch (JsonProcessingException e) {
+                session.reject(rowNumber, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            session.add(rowNumber, row);
+        }
+        return session.finish();
+    }
+
+    /**
+     * Accumulates valid rows until a batch is full, then persists it in its own transaction so a
+     * failing batch never rolls back rows that were already committed
+     */
+    private class ImportSession {
+        private final ProductImportResultDTO result = new ProductImportResultDTO();
+        private final List<Long> pendingRowNumbers = new ArrayList<>(batchSize);
+        private final List<ProductImportRow> pendingRows = new ArrayList<>(batchSize);
+
+        private void add(long rowNumber, ProductImportRow row) {
+            result.setTotalRows(result.getTotalRows() + 1);
+            try {
+                validate(row);
+            } catch (IllegalArgumentException e) {
+                recordError(rowNumber, e.getMessage());
+                return;
+            }
+            pendingRowNumbers.add(rowNumber);
+            pendingRows.add(row);
+            if (pendingRows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        // A row that could not even be parsed
+        private void reject(long rowNumber, String message) {
+            result.setTotalRows(result.getTotalRows() + 1);
+            recordError(rowNumber, message);
+        }
+
+        private void recordError(long rowNumber, String message) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < maxErrors) {
+                result.getErrors().add(new ProductImportErrorDTO(rowNumber, message));
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+
+        private void flush() {
+            if (pendingRows.isEmpty()) {
+                return;
+            }
+            try {
+                List<Product> saved = persistBatch(pendingRows);
+                result.setImported(result.getImported() + saved.size());
+                saved.forEach(productChangePublisher::productSaved);
+            } catch (DataAccessException e) {
+                String message = "Batch rejected by database: " + e.getMostSpecificCause().getMessage();
+                for (Long rowNumber : pendingRowNumbers) {
+                    recordError(rowNumber, message);
+                }
+            }
+            pendingRowNumbers.clear();
+            pendingRows.clear();
+        }
+
+        private ProductImportResultDTO finish() {
+            flush();
+            return result;
+        }
+    }
+
+    private List<Product> persistBatch(List<ProductImportRow> rows) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        return transactionTemplate.execute(status -> {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_PRODUCT, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ProductImportRow row = rows.get(i);
+                            ps.setString(1, row.getName().trim());
+                            ps.setString(2, row.getDescription());
+                            ps.setDouble(3, row.getPrice());
+                            ps.setObject(4, row.getPricegiamgia(), Types.DOUBLE);
+                            ps.setDouble(5, row.getPricegiamgia() != null ? row.getPricegiamgia() : row.getPrice());
+                            ps.setString(6, row.getCategory());
+                            ps.setInt(7, row.getStock() != null ? row.getStock() : 0);
+                            ps.setString(8, row.getYoutubeUrl());
+                            ps.setTimestamp(9, now);
+                            ps.setTimestamp(10, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows.size();
+                        }
+                    },
+                    keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            List<Product> products = new ArrayList<>(rows.size());
+            List<Object[]> imageArgs = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                Product product = toProduct(rows.get(i), now);
+                product.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+                for (ProductImage image : product.getImages()) {
+                    imageArgs.add(new Object[]{product.getId(), image.getUrl(), null, image.getAlt(), image.isPrimary()});
+                }
+                products.add(product);
+            }
+            if (!imageArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_IMAGE, imageArgs);
+            }
+            return products;
+        });
+    }
+
+    private Product toProduct(ProductImportRow row, Date now) {
+        Product product = new Product();
+        product.setName(row.getName().trim());
+        product.setDescription(row.getDescription());
+        product.setPrice(row.getPrice());
+        product.setPricegiamgia(row.getPricegiamgia());
+        product.setEffectivePrice(row.getPricegiamgia() != null ? row.getPricegiamgia() : row.getPrice());
+        product.setCategory(row.getCategory());
+        product.setStock(row.getStock() != null ? row.getStock() : 0);
+        product.setYoutubeUrl(row.getYoutubeUrl());
+        product.setCreatedAt(now);
+        product.setUpdatedAt(now);
+        if (row.getImages() != null) {
+            for (String url : row.getImages()) {
+                if (url == null || url.isBlank()) {
+                    continue;
+                }
+                ProductImage image = new ProductImage();
+                image.setUrl(url.trim());
+                image.setAlt(product.getName());
+                image.setPrimary(product.getImages().isEmpty()); // First image is primary
+                product.getImages().add(image);
+            }
+        }
+        return product;
+    }
+
+    private void validate(ProductImportRow row) {
+        if (row.getName() == null || row.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (row.getName().trim().length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("name must be at most " + MAX_NAME_LENGTH + " characters");
+        }
+        if (row.getDescription() != null && row.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("description must be at most " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+        if (row.getPrice() == null || row.getPrice() < 0) {
+            throw new IllegalArgumentException("price is required and must not be negative");
+        }
+        if (row.getPricegiamgia() != null && (row.getPricegiamgia() < 0 || row.getPricegiamgia() > row.getPrice())) {
+            throw new IllegalArgumentException("pricegiamgia must be between 0 and price");
+        }
+        if (row.getStock() != null && row.getStock() < 0) {
+            throw new IllegalArgumentException("stock must not be negative");
+        }
+    }
+
+    private ProductImportRow toRow(List<String> record, Map<String, Integer> columns) {
+        ProductImportRow row = new ProductImportRow();
+        row.setName(column(record, columns, "name"));
+        row.setDescription(column(record, columns, "description"));
+        row.setPrice(parseDouble(column(record, columns, "price"), "price"));
+        row.setPricegiamgia(parseDouble(column(record, columns, "pricegiamgia"), "pricegiamgia"));
+        row.setCategory(column(record, columns, "category"));
+        String stock = column(record, columns, "stock");
+        if (stock != null) {
+            try {
+                row.setStock(Integer.parseInt(stock));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("stock is not a whole number: " + stock);
+            }
+        }
+        row.setYoutubeUrl(column(record, columns, "youtubeurl"));
+        String images = column(record, columns, "images");
+        if (images != null) {
+            row.setImages(new ArrayList<>(Arrays.asList(images.split("\\|"))));
+        }
+        return row;
+    }
+
+    // Blank cells and missing trailing cells both read as null
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Double parseDouble(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.product.ProductBulkUpdateItem;
+import com.social.back_java.dto.product.ProductBulkUpdateResultDTO;
+import com.social.back_java.model.Product;
+import com.social.back_java.repository.ProductRepository;
+import com.social.back_java.service.IProductInventoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class ProductInventoryServiceImpl implements IProductInventoryService {
+
+    private static final int MAX_ITEMS = 5000;
+
+    // Null parameters leave the column untouched, so one statement shape covers every item
+    private static final String UPDATE_PRODUCT = "UPDATE products SET " +
+            "stock = CASE WHEN ? IS NOT NULL THEN ? ELSE GREATEST(stock + ?, 0) END, " +
+            "price = COALESCE(?, price), " +
+            "pricegiamgia = CASE WHEN ? THEN NULL ELSE COALESCE(?, pricegiamgia) END, " +
+            // Built from the parameters again: SQL does not define whether the assignments above are visible here
+            "effective_price = COALESCE(CASE WHEN ? THEN NULL ELSE COALESCE(?, pricegiamgia) END, COALESCE(?, price)), " +
+            "updated_at = ? " +
+            "WHERE id = ?";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductChangePublisher productChangePublisher;
+
+    @Override
+    @Transactional
+    public ProductBulkUpdateResultDTO bulkUpdate(List<ProductBulkUpdateItem> items) {
+        validate(items);
+
+        Set<Long> requestedIds = new HashSet<>();
+        items.forEach(item -> requestedIds.add(item.getId()));
+        Set<Long> existingIds = new HashSet<>(productRepository.findExistingIds(requestedIds));
+
+        List<ProductBulkUpdateItem> updates = new ArrayList<>(items.size());
+        List<Long> notFound = new ArrayList<>();
+        for (ProductBulkUpdateItem item : items) {
+            if (existingIds.contains(item.getId())) {
+                updates.add(item);
+            } else {
+                notFound.add(item.getId());
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            jdbcTemplate.batchUpdate(UPDATE_PRODUCT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ProductBulkUpdateItem item = updates.get(i);
+                    ps.setObject(1, item.getStock(), Types.INTEGER);
+                    ps.setObject(2, item.getStock(), Types.INTEGER);
+                    ps.setInt(3, item.getStockDelta() != null ? item.getStockDelta() : 0);
+                    ps.setObject(4, item.getPrice(), Types.DOUBLE);
+                    ps.setBoolean(5, item.isClearPricegiamgia());
+                    ps.setObject(6, item.getPricegiamgia(), Types.DOUBLE);
+                    ps.setBoolean(7, item.isClearPricegiamgia());
+                    ps.setObject(8, item.getPricegiamgia(), Types.DOUBLE);
+                    ps.setObject(9, item.getPrice(), Types.DOUBLE);
+                    ps.setTimestamp(10, now);
+                    ps.setLong(11, item.getId());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return updates.size();
+                }
+            });
+
+            // Fresh state for the cache and indexes, published once after commit
+            List<Product> updated = productRepository.findAllById(existingIds);
+            // An item may set only one of the two prices, so the pair is checked on the written rows;
+            // throwing rolls the whole sync back
+            for (Product product : updated) {
+                if (product.getPricegiamgia() != null && product.getPrice() != null
+                        && product.getPricegiamgia() > product.getPrice()) {
+                    throw new IllegalArgumentException("Product " + product.getId() + ": pricegiamgia must not exceed price");
+                }
+            }
+            productChangePublisher.productsSaved(updated);
+        }
+
+        return new ProductBulkUpdateResultDTO(items.size(), updates.size(), notFound);
+    }
+
+    // Reject the whole request up front so a bad item never leaves a half-applied sync
+    private void validate(List<ProductBulkUpdateItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one item is required");
+        }
+        if (items.size() > MAX_ITEMS) {
+            throw new IllegalArgumentException("At most " + MAX_ITEMS + " items can be updated at once");
+        }
+        for (ProductBulkUpdateItem item : items) {
+            if (item.getId() == null) {
+                throw new IllegalArgumentException("Every item needs an id");
+            }
+            if (item.getStock() != null && item.getStockDelta() != null) {
+                throw new IllegalArgumentException("Product " + item.getId() + ": use either stock or stockDelta, not both");
+            }
+            if (item.getStock() != null && item.getStock() < 0) {
+                throw new IllegalArgumentException("Product " + item.getId() + ": stock must not be negative");
+            }
+            if (item.getPrice() != null && item.getPrice() < 0) {
+                throw new IllegalArgumentException("Product " + item.getId() + ": price must not be negative");
+            }
+            if (item.getPricegiamgia() != null && item.getPricegiamgia() < 0) {
+                throw new IllegalArgumentException("Product " + item.getId() + ": pricegiamgia must not be negative");
+            }
+            if (!item.isClearPricegiamgia() && item.getPricegiamgia() != null && item.getPrice() != null
+                    && item.getPricegiamgia() > item.getPrice()) {
+                throw new IllegalArgumentException("Product " + item.getId() + ": pricegiamgia must not exceed price");
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.product.ProductBestSellerDTO;
+import com.social.back_java.dto.product.ProductSort;
+import com.social.back_java.dto.product.ProductSummaryDTO;
+import com.social.back_java.model.Order;
+import com.social.back_java.model.OrderItem;
+import com.social.back_java.model.ProductSalesDaily;
+import com.social.back_java.repository.ProductRepository;
+import com.social.back_java.repository.ProductSalesDailyRepository;
+import com.social.back_java.service.IProductLeaderboardService;
+import com.social.back_java.util.LongIntHashMap;
+import com.social.back_java.util.TransactionUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Best sellers per week and month from per-day sales buckets kept in memory. Orders and
+ * cancellations adjust the buckets and the rolling window totals after commit; dirty days are
+ * checkpointed to product_sales_daily and reloaded on startup. All-time rankings come from the
+ * indexed products.sales_count counter.
+ */
+@Service
+public class ProductLeaderboardServiceImpl implements IProductLeaderboardService {
+
+    private static final int WEEK_DAYS = 7;
+    private static final int MONTH_DAYS = 30;
+    private static final int MAX_LIMIT = 50;
+
+    // Row alias rather than VALUES(), which MySQL 8.0.20 deprecated inside ON DUPLICATE KEY UPDATE
+    private static final String UPSERT_DAY = "INSERT INTO product_sales_daily (sales_date, product_id, units) " +
+            "VALUES (?, ?, ?) AS n ON DUPLICATE KEY UPDATE units = n.units";
+
+    @Autowired
+    private ProductSalesDailyRepository salesDailyRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${catalog.leaderboard.zone}")
+    private String zone;
+
+    private ZoneId zoneId;
+    private final TreeMap<LocalDate, LongIntHashMap> days = new TreeMap<>();
+    private final Set<LocalDate> dirtyDays = new HashSet<>();
+    private LongIntHashMap weekTotals = new LongIntHashMap();
+    private LongIntHashMap monthTotals = new LongIntHashMap();
+    // Day the window totals were last aligned to
+    private LocalDate windowDay;
+
+    @PostConstruct
+    public synchronized void load() {
+        zoneId = ZoneId.of(zone);
+        LocalDate today = today();
+        for (ProductSalesDaily row : salesDailyRepository.findBySalesDateGreaterThanEqual(firstDayOfMonthWindow(today))) {
+            bucket(row.getSalesDate()).addTo(row.getProductId(), row.getUnits());
+        }
+        rebuildWindows(today);
+    }
+
+    @Override
+    public void recordOrder(Order order) {
+        record(order, 1);
+    }
+
+    @Override
+    public void recordCancellation(Order order) {
+        record(order, -1);
+    }
+
+    // Sales are booked on the day the order was placed, so a cancellation undoes exactly that day
+    private void record(Order order, int sign) {
+        LocalDate day = order.getCreatedAt().toInstant().atZone(zoneId).toLocalDate();
+        List<OrderItem> items = order.getItems();
+        long[] productIds = new long[items.size()];
+        int[] quantities = new int[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            productIds[i] = items.get(i).getProduct().getId();
+            quantities[i] = items.get(i).getQuantity();
+        }
+        TransactionUtil.afterCommit(() -> apply(day, productIds, quantities, sign));
+    }
+
+    private synchronized void apply(LocalDate day, long[] productIds, int[] quantities, int sign) {
+        LocalDate today = today();
+        alignWindows(today);
+        if (day.isBefore(firstDayOfMonthWindow(today)) || day.isAfter(today)) {
+            return;
+        }
+        boolean inWeek = !day.isBefore(today.minusDays(WEEK_DAYS - 1));
+        LongIntHashMap bucket = bucket(day);
+        for (int i = 0; i < productIds.length; i++) {
+            // Never take a day below zero for sales placed before the leaderboard existed
+            int delta = sign > 0 ? quantities[i] : -Math.min(quantities[i], bucket.get(productIds[i]));
+            if (delta == 0) {
+                continue;
+            }
+            bucket.addTo(productIds[i], delta);
+            monthTotals.addTo(productIds[i], delta);
+            if (inWeek) {
+                weekTotals.addTo(productIds[i], delta);
+            }
+        }
+        dirtyDays.add(day);
+    }
+
+    @Override
+    public List<ProductBestSellerDTO> getBestSellers(String window, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        if ("all".equalsIgnoreCase(window)) {
+            List<ProductBestSellerDTO> result = new ArrayList<>();
+            for (ProductSummaryDTO summary : productRepository.findSummaries(ProductSort.BEST_SELLING, null, null, size)) {
+                if (summary.getSalesCount() > 0) {
+                    result.add(new ProductBestSellerDTO(summary, summary.getSalesCount()));
+                }
+            }
+            return result;
+        }
+
+        boolean week;
+        if ("week".equalsIgnoreCase(window)) {
+            week = true;
+        } else if ("month".equalsIgnoreCase(window)) {
+            week = false;
+        } else {
+            throw new IllegalArgumentException("Unknown window: " + window);
+        }
+
+        long[] ids;
+        Map<Long, Integer> units = new HashMap<>();
+        synchronized (this) {
+            alignWindows(today());
+            LongIntHashMap totals = week ? weekTotals : monthTotals;
+            ids = totals.topKeys(size);
+            for (long id : ids) {
+                units.put(id, totals.get(id));
+            }
+        }
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, ProductSummaryDTO> summaries = new HashMap<>();
+        for (ProductSummaryDTO summary : productRepository.findSummariesByIds(units.keySet())) {
+            summaries.put(summary.getId(), summary);
+        }
+        List<ProductBestSellerDTO> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            ProductSummaryDTO summary = summaries.get(id);
+            if (summary != null) {
+                result.add(new ProductBestSellerDTO(summary, units.get(id)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Write every day touched since the last checkpoint, then drop buckets that left the month window
+     */
+    @Scheduled(fixedDelayString = "${catalog.leaderboard.checkpoint-interval-ms}")
+    @PreDestroy
+    public void checkpoint() {
+        Set<LocalDate> written;
+        List<Object[]> rows = new ArrayList<>();
+        synchronized (this) {
+            written = new HashSet<>(dirtyDays);
+            dirtyDays.clear();
+            for (LocalDate day : written) {
+                Date salesDate = Date.valueOf(day);
+                days.get(day).forEach((productId, units) -> rows.add(new Object[]{salesDate, productId, units}));
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(UPSERT_DAY, rows);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    dirtyDays.addAll(written);
+                }
+                throw e;
+            }
+        }
+
+        synchronized (this) {
+            days.headMap(firstDayOfMonthWindow(today())).keySet().removeIf(day -> !dirtyDays.contains(day));
+        }
+    }
+
+    // Window totals are rebuilt from the buckets once per day instead of expiring entries one by one
+    private void alignWindows(LocalDate today) {
+        if (!today.equals(windowDay)) {
+            rebuildWindows(today);
+        }
+    }
+
+    private void rebuildWindows(LocalDate today) {
+        LocalDate weekStart = today.minusDays(WEEK_DAYS - 1);
+        LongIntHashMap week = new LongIntHashMap();
+        LongIntHashMap month = new LongIntHashMap();
+        for (Map.Entry<LocalDate, LongIntHashMap> entry : days.subMap(firstDayOfMonthWindow(today), true, today, true).entrySet()) {
+            boolean inWeek = !entry.getKey().isBefore(weekStart);
+            entry.getValue().forEach((productId, units) -> {
+                month.addTo(productId, units);
+                if (inWeek) {
+                    week.addTo(productId, units);
+                }
+            });
+        }
+        weekTotals = week;
+        monthTotals = month;
+        windowDay = today;
+    }
+
+    private LongIntHashMap bucket(LocalDate day) {
+        return days.computeIfAbsent(day, d -> new LongIntHashMap());
+    }
+
+    private LocalDate firstDayOfMonthWindow(LocalDate today) {
+        return today.minusDays(MONTH_DAYS - 1);
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(zoneId);
+    }
+}
@@ -0,0 +1,198 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.product.OrderedProductDTO;
+import com.social.back_java.dto.product.ProductSummaryDTO;
+import com.social.back_java.repository.OrderRepository;
+import com.social.back_java.repository.ProductRepository;
+import com.social.back_java.service.IProductRelatedService;
+import com.social.back_java.util.LongIntHashMap;
+import com.social.back_java.util.LongObjectHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "Frequently bought together" lists built from a co-occurrence matrix over order lines.
+ * A background job folds in orders past a watermark, so each order is counted once; the
+ * request path only reads a precomputed top-K array per product.
+ */
+@Service
+public class ProductRelatedServiceImpl implements IProductRelatedService {
+
+    private static final int TOP_K = 10;
+    private static final int ORDER_BATCH_SIZE = 500;
+    // Bounds the quadratic pair expansion for unusually large baskets
+    private static final int MAX_ITEMS_PER_ORDER = 50;
+    // A product's neighbor counters are pruned back to half of this once exceeded, keeping the strongest
+    private static final int MAX_TRACKED_NEIGHBORS = 512;
+    private static final long[] NONE = new long[0];
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    // Only touched by the refresh job
+    private final LongObjectHashMap<LongIntHashMap> coCounts = new LongObjectHashMap<>();
+    private long watermark = 0;
+
+    // Read by requests, replaced per product by the refresh job
+    private final LongObjectHashMap<long[]> neighbors = new LongObjectHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public List<ProductSummaryDTO> getRelated(Long productId, int limit) {
+        long[] related;
+        lock.readLock().lock();
+        try {
+            related = neighbors.get(productId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (related == null || limit < 1) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < related.length && i < limit; i++) {
+            ids.add(related[i]);
+        }
+        Map<Long, ProductSummaryDTO> summaries = new HashMap<>();
+        for (ProductSummaryDTO summary : productRepository.findSummariesByIds(ids)) {
+            summaries.put(summary.getId(), summary);
+        }
+        // Keep the co-purchase ranking; deleted products simply drop out
+        List<ProductSummaryDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductSummaryDTO summary = summaries.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    // The first run starts from watermark 0 and catches up on the whole order history
+    @Scheduled(fixedDelayString = "${catalog.related.refresh-interval-ms}")
+    public synchronized void refresh() {
+        while (true) {
+            List<Long> orderIds = orderRepository.findIdsAfter(watermark, PageRequest.of(0, ORDER_BATCH_SIZE));
+            if (orderIds.isEmpty()) {
+                return;
+            }
+            long lastId = orderIds.get(orderIds.size() - 1);
+            LongIntHashMap touched = new LongIntHashMap();
+            fold(orderRepository.findOrderedProducts(watermark, lastId), touched);
+            publish(touched);
+            watermark = lastId;
+            if (orderIds.size() < ORDER_BATCH_SIZE) {
+                return;
+            }
+        }
+    }
+
+    // Rows arrive ordered by order id; each basket is de-duplicated before its pairs are counted
+    private void fold(List<OrderedProductDTO> lines, LongIntHashMap touched) {
+        long[] basket = new long[MAX_ITEMS_PER_ORDER];
+        int basketSize = 0;
+        Long currentOrder = null;
+        for (OrderedProductDTO line : lines) {
+            if (!line.getOrderId().equals(currentOrder)) {
+                countPairs(basket, basketSize, touched);
+                basketSize = 0;
+                currentOrder = line.getOrderId();
+            }
+            long productId = line.getProductId();
+            if (basketSize < MAX_ITEMS_PER_ORDER && !contains(basket, basketSize, productId)) {
+                basket[basketSize++] = productId;
+            }
+        }
+        countPairs(basket, basketSize, touched);
+    }
+
+    private void countPairs(long[] basket, int size, LongIntHashMap touched) {
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                increment(basket[i], basket[j]);
+                increment(basket[j], basket[i]);
+            }
+            if (size > 1) {
+                touched.addTo(basket[i], 1);
+            }
+        }
+    }
+
+    private void increment(long productId, long otherId) {
+        LongIntHashMap counts = coCounts.get(productId);
+        if (counts == null) {
+            counts = new LongIntHashMap();
+            coCounts.put(productId, counts);
+        }
+        counts.addTo(otherId, 1);
+        if (counts.size() > MAX_TRACKED_NEIGHBORS) {
+            coCounts.put(productId, strongest(counts, MAX_TRACKED_NEIGHBORS / 2));
+        }
+    }
+
+    private void publish(LongIntHashMap touched) {
+        long[] productIds = new long[touched.size()];
+        long[][] lists = new long[touched.size()][];
+        int[] n = {0};
+        touched.forEach((productId, ignored) -> {
+            LongIntHashMap counts = coCounts.get(productId);
+            productIds[n[0]] = productId;
+            lists[n[0]++] = counts == null ? NONE : counts.topKeys(TOP_K);
+        });
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < productIds.length; i++) {
+                neighbors.put(productIds[i], lists[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private LongIntHashMap strongest(LongIntHashMap counts, int keep) {
+        int[] values = new int[counts.size()];
+        int[] n = {0};
+        counts.forEach((id, count) -> values[n[0]++] = count);
+        Arrays.sort(values);
+        int threshold = values[values.length - keep];
+
+        // Everything above the threshold survives; ties at the threshold fill the remaining room
+        LongIntHashMap kept = new LongIntHashMap(keep);
+        int[] room = {keep};
+        counts.forEach((id, count) -> {
+            if (count > threshold) {
+                kept.addTo(id, count);
+                room[0]--;
+            }
+        });
+        counts.forEach((id, count) -> {
+            if (count == threshold && room[0] > 0) {
+                kept.addTo(id, count);
+                room[0]--;
+            }
+        });
+        return kept;
+    }
+
+    private static boolean contains(long[] values, int size, long value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
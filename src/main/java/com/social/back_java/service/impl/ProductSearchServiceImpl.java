@@ -0,0 +1,66 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.product.ProductSummaryDTO;
+import com.social.back_java.model.Product;
+import com.social.back_java.service.IProductChangeListener;
+import com.social.back_java.service.IProductSearchService;
+import com.social.back_java.util.InvertedIndex;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ProductSearchServiceImpl implements IProductSearchService, IProductChangeListener {
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float CATEGORY_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private final InvertedIndex<Long> index = new InvertedIndex<>();
+
+    // Hits are rendered from here so a search never goes back to the database
+    private final Map<Long, ProductSummaryDTO> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    public List<ProductSummaryDTO> search(String query, int limit) {
+        List<ProductSummaryDTO> results = new ArrayList<>();
+        for (InvertedIndex.Hit<Long> hit : index.search(query, limit)) {
+            ProductSummaryDTO summary = summaries.get(hit.getKey());
+            if (summary != null) {
+                results.add(summary);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public int indexedCount() {
+        return index.size();
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        Map<String, Float> termWeights = new HashMap<>();
+        InvertedIndex.addText(termWeights, product.getName(), NAME_WEIGHT);
+        InvertedIndex.addText(termWeights, product.getCategory(), CATEGORY_WEIGHT);
+        InvertedIndex.addText(termWeights, product.getDescription(), DESCRIPTION_WEIGHT);
+
+        summaries.put(product.getId(), ProductSummaryDTO.from(product));
+        index.put(product.getId(), termWeights);
+    }
+
+    @Override
+    public void onProductDeleted(Long productId) {
+        index.remove(productId);
+        summaries.remove(productId);
+    }
+
+    @Override
+    public boolean replayOnStartup() {
+        return true;
+    }
+}
@@ -1,10 +1,124 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.common.CollectionVersionDTO;
+import com.social.back_java.dto.common.CursorPage;
+import com.social.back_java.dto.common.EntityVersionDTO;
+import com.social.back_java.dto.product.ProductSort;
+import com.social.back_java.dto.product.ProductSummaryDTO;
+import com.social.back_java.model.Product;
+import com.social.back_java.model.ProductImage;
+import com.social.back_java.model.ProductVideo;
+import com.social.back_java.repository.ProductRepository;
+import com.social.back_java.service.ICloudinaryService;
+import com.social.back_java.service.IProductSearchService;
+import com.social.back_java.service.IProductService;
+import com.social.back_java.util.CursorUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class ProductServiceImpl implements IProductService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int SEARCH_LIMIT = 50;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ICloudinaryService cloudinaryService;
+
+    @Autowired
+    private ProductCatalogCache productCache;
+
+    @Autowired
+    private ProductChangePublisher productChangePublisher;
+
+    @Autowired
+    private IProductSearchService productSearchService;
+
+    @Override
+    public List<Product> getAllProducts() {
+        return productRepository.findAll();
+    }
+
+    @Override
+    public CursorPage<ProductSummaryDTO> getProductsPage(String cursor, Integer size, String sort) {
+        ProductSort order = ProductSort.fromParam(sort);
+        int pageSize = size == null || size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        String cacheKey = "page:" + order.getParam() + ":" + (cursor == null ? "" : cursor) + ":" + pageSize;
+        return productCache.getList(cacheKey, () -> loadProductsPage(order, cursor, pageSize));
+    }
+
+    private CursorPage<ProductSummaryDTO> loadProductsPage(ProductSort order, String cursor, int pageSize) {
+        CursorUtil.Cursor position = cursor == null || cursor.isEmpty() ? null : CursorUtil.decode(cursor);
+        // Fetch one extra row to know whether another page exists
+        List<ProductSummaryDTO> products = productRepository.findSummaries(order, null, position, pageSize + 1);
+
+        boolean hasMore = products.size() > pageSize;
+        if (hasMore) {
+            products = products.subList(0, pageSize);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            ProductSummaryDTO last = products.get(products.size() - 1);
+            nextCursor = CursorUtil.encode(order.keyOf(last), last.getId());
+        }
+        return new CursorPage<>(products, nextCursor, hasMore);
+    }
+
+    @Override
+    public Optional<Product> getProductById(Long id) {
+        return productCache.getProduct(id, () -> productRepository.findById(id));
+    }
+
+    // Bypasses the cache: callers edit the returned instance, which readers must never see half-applied
+    @Override
+    public Optional<Product> getProductForUpdate(Long id) {
+        return productRepository.findById(id);
+    }
+
+    @Override
+    public Optional<EntityVersionDTO> getProductVersion(Long id) {
+        return productRepository.findVersionById(id);
+    }
+
+    @Override
+    public CollectionVersionDTO getCatalogVersion(String category) {
+        return category == null
+                ? productRepository.findCatalogVersion()
+                : productRepository.findCategoryVersion(category);
+    }
+
+    @Override
+    public List<ProductSummaryDTO> getProductsByCategory(String category, String sort) {
+        ProductSort order = ProductSort.fromParam(sort);
+        return productCache.getList("category:" + order.getParam() + ":" + category,
+                () -> productRepository.findSummaries(order, category, null, null));
+    }
+
+    @Override
+    public List<ProductSummaryDTO> searchProducts(String name) {
+        return productSearchService.search(name, SEARCH_LIMIT);
+    }
+
+    @Override
+    public Product createProduct(Product product) {
+        return saveAndPublish(product);
     }
 
     @Override
     public Product updateProduct(Long id, Product product) {
         if (productRepository.existsById(id)) {
             product.setId(id);
-            return productRepository.save(product);
+            return saveAndPublish(product);
         }
         throw new RuntimeException("Product not found with id: " + id);
     }
@@ -12,6 +126,7 @@
     @Override
     public void deleteProduct(Long id) {
         productRepository.deleteById(id);
+        productChangePublisher.productDeleted(id);
     }
 
     @Override
@@ -34,7 +149,7 @@
             product.getImages().add(productImage);
         }
 
-        return productRepository.save(product);
+        return saveAndPublish(product);
     }
 
     @Override
@@ -60,7 +175,7 @@
             product.getVideos().add(productVideo);
         }
 
-        return productRepository.save(product);
+        return saveAndPublish(product);
     }
 
     @Override
@@ -71,7 +186,7 @@
         product.getImages().removeIf(image -> image.getPublicId().equals(publicId));
         cloudinaryService.deleteFile(publicId);
 
-        return productRepository.save(product);
+        return saveAndPublish(product);
     }
 
     @Override
@@ -82,6 +197,12 @@
         product.getVideos().removeIf(video -> video.getPublicId().equals(publicId));
         cloudinaryService.deleteFile(publicId);
 
-        return productRepository.save(product);
+        return saveAndPublish(product);
+    }
+
+    private Product saveAndPublish(Product product) {
+        Product saved = productRepository.save(product);
+        productChangePublisher.productSaved(saved);
+        return saved;
     }
 }
@@ -0,0 +1,49 @@
+package com.social.back_java.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the effective_price and sales_count sort columns for rows written before they existed.
+ * Runs ahead of the catalog replay so in-memory indexes start from complete data.
+ */
+@Component
+public class ProductSortBackfill {
+
+    private static final String BACKFILL_EFFECTIVE_PRICE =
+            "UPDATE products SET effective_price = COALESCE(pricegiamgia, price) WHERE effective_price IS NULL";
+
+    private static final String REBUILD_SALES_COUNT = "UPDATE products p SET sales_count = (" +
+            "SELECT COALESCE(SUM(oi.quantity), 0) FROM order_items oi JOIN orders o ON o.id = oi.order_id " +
+            "WHERE oi.product_id = p.id AND o.status <> 'Cancelled')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${catalog.sales-count.rebuild-on-startup}")
+    private boolean rebuildSalesCount;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfill() {
+        jdbcTemplate.update(BACKFILL_EFFECTIVE_PRICE);
+        if (rebuildSalesCount || salesCountMissing()) {
+            jdbcTemplate.update(REBUILD_SALES_COUNT);
+        }
+    }
+
+    // Orders exist but no counter was ever incremented: the column was just added
+    private boolean salesCountMissing() {
+        Boolean counted = jdbcTemplate.queryForObject(
+                "SELECT EXISTS(SELECT 1 FROM products WHERE sales_count > 0)", Boolean.class);
+        Boolean ordered = jdbcTemplate.queryForObject(
+                "SELECT EXISTS(SELECT 1 FROM order_items)", Boolean.class);
+        return !Boolean.TRUE.equals(counted) && Boolean.TRUE.equals(ordered);
+    }
+}
@@ -0,0 +1,81 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.product.ProductSuggestionDTO;
+import com.social.back_java.model.Product;
+import com.social.back_java.service.IProductChangeListener;
+import com.social.back_java.service.IProductSuggestService;
+import com.social.back_java.util.PrefixTrie;
+import com.social.back_java.util.TextNormalizer;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ProductSuggestServiceImpl implements IProductSuggestService, IProductChangeListener {
+
+    private static final int MAX_SUGGESTIONS = 10;
+    // Keys are truncated so a long product name cannot make the trie arbitrarily deep
+    private static final int MAX_KEY_LENGTH = 48;
+
+    private final PrefixTrie trie = new PrefixTrie(MAX_SUGGESTIONS);
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+
+    @Override
+    public List<ProductSuggestionDTO> suggest(String query, int limit) {
+        String prefix = String.join(" ", TextNormalizer.tokenize(query));
+        if (prefix.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Keep the separator when the user has just finished a word, so "go " does not match "goi"
+        if (Character.isWhitespace(query.charAt(query.length() - 1))) {
+            prefix = prefix + " ";
+        }
+
+        List<ProductSuggestionDTO> suggestions = new ArrayList<>();
+        for (Long id : trie.lookup(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)))) {
+            String name = names.get(id);
+            if (name != null) {
+                suggestions.add(new ProductSuggestionDTO(id, name));
+            }
+        }
+        return suggestions;
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        names.put(product.getId(), product.getName());
+        trie.put(product.getId(), keysOf(product.getName()), scoreOf(product));
+    }
+
+    @Override
+    public void onProductDeleted(Long productId) {
+        trie.remove(productId);
+        names.remove(productId);
+    }
+
+    @Override
+    public boolean replayOnStartup() {
+        return true;
+    }
+
+    // Best sellers first; among equally popular products, ones in stock win
+    private double scoreOf(Product product) {
+        return product.getSalesCount() + (product.getStock() > 0 ? 0.5 : 0);
+    }
+
+    // One key per word start, so typing any word of the name finds the product
+    private Set<String> keysOf(String name) {
+        List<String> tokens = TextNormalizer.tokenize(name);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String key = String.join(" ", tokens.subList(i, tokens.size()));
+            keys.add(key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,161 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.common.ScheduledPublishDTO;
+import com.social.back_java.model.Blog;
+import com.social.back_java.model.Story;
+import com.social.back_java.repository.BlogRepository;
+import com.social.back_java.repository.StoryRepository;
+import com.social.back_java.service.IPublishSchedulerService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires timed publishes from an in-memory delay queue rebuilt from scheduledPublishAt on startup. A single
+ * worker thread blocks until the earliest entry is due, so nothing polls the tables. Everything due at
+ * that moment is published with one guarded UPDATE per type, which also makes stale queue entries for
+ * cancelled or rescheduled items harmless. Caches are refreshed through ContentChangePublisher.
+ */
+@Service
+public class PublishSchedulerServiceImpl implements IPublishSchedulerService {
+
+    private static final Logger log = LoggerFactory.getLogger(PublishSchedulerServiceImpl.class);
+
+    private static final int MAX_BATCH = 500;
+    private static final long RETRY_DELAY_MS = 30_000;
+
+    private enum Type { BLOG, STORY }
+
+    private static final class Pending implements Delayed {
+        private final Type type;
+        private final long id;
+        private final long publishAt;
+
+        private Pending(Type type, long id, long publishAt) {
+            this.type = type;
+            this.id = id;
+            this.publishAt = publishAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(publishAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(publishAt, ((Pending) other).publishAt);
+        }
+    }
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private ContentChangePublisher contentChangePublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final DelayQueue<Pending> queue = new DelayQueue<>();
+    private Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Overdue items, e.g. from while the application was down, are due immediately
+        for (ScheduledPublishDTO scheduled : blogRepository.findScheduledPublishes()) {
+            scheduleBlog(scheduled.getId(), scheduled.getPublishAt());
+        }
+        for (ScheduledPublishDTO scheduled : storyRepository.findScheduledPublishes()) {
+            scheduleStory(scheduled.getId(), scheduled.getPublishAt());
+        }
+        worker = new Thread(this::run, "publish-scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public void scheduleBlog(Long blogId, Date publishAt) {
+        queue.add(new Pending(Type.BLOG, blogId, publishAt.getTime()));
+    }
+
+    @Override
+    public void scheduleStory(Long storyId, Date publishAt) {
+        queue.add(new Pending(Type.STORY, storyId, publishAt.getTime()));
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Pending> batch = new ArrayList<>();
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            // Only expired entries are drained, so this picks up everything else already due
+            queue.drainTo(batch, MAX_BATCH - 1);
+            try {
+                publish(batch);
+            } catch (RuntimeException e) {
+                log.warn("Timed publish of {} items failed, retrying in {} ms", batch.size(), RETRY_DELAY_MS, e);
+                long retryAt = System.currentTimeMillis() + RETRY_DELAY_MS;
+                for (Pending pending : batch) {
+                    queue.add(new Pending(pending.type, pending.id, retryAt));
+                }
+            }
+        }
+    }
+
+    private void publish(List<Pending> batch) {
+        Set<Long> blogIds = new LinkedHashSet<>();
+        Set<Long> storyIds = new LinkedHashSet<>();
+        for (Pending pending : batch) {
+            (pending.type == Type.BLOG ? blogIds : storyIds).add(pending.id);
+        }
+        Date now = new Date();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // The database decides what is due, so cancelled and moved schedules are skipped here
+            List<Long> dueBlogs = blogIds.isEmpty() ? List.of() : blogRepository.findDueScheduledIds(blogIds, now);
+            if (!dueBlogs.isEmpty()) {
+                blogRepository.publishScheduled(dueBlogs, now);
+                for (Blog blog : blogRepository.findAllById(dueBlogs)) {
+                    contentChangePublisher.blogSaved(blog);
+                }
+            }
+
+            List<Long> dueStories = storyIds.isEmpty() ? List.of() : storyRepository.findDueScheduledIds(storyIds, now);
+            if (!dueStories.isEmpty()) {
+                storyRepository.publishScheduled(dueStories, now);
+                for (Story story : storyRepository.findAllById(dueStories)) {
+                    contentChangePublisher.storySaved(story);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,189 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.product.ProductSummaryDTO;
+import com.social.back_java.dto.search.SiteSearchHitDTO;
+import com.social.back_java.dto.search.SiteSearchResultDTO;
+import com.social.back_java.model.Blog;
+import com.social.back_java.model.Product;
+import com.social.back_java.model.Story;
+import com.social.back_java.model.StoryBlock;
+import com.social.back_java.service.IContentChangeListener;
+import com.social.back_java.service.IProductChangeListener;
+import com.social.back_java.service.ISiteSearchService;
+import com.social.back_java.util.InvertedIndex;
+import com.social.back_java.util.SnippetUtil;
+import com.social.back_java.util.TextNormalizer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One index over products, published blogs and published stories. Documents are keyed
+ * "type:id"; each type scales its field weights by a boost, and the text needed for snippets is
+ * kept next to the index so a search never reads the TEXT columns.
+ */
+@Service
+public class SiteSearchServiceImpl implements ISiteSearchService, IProductChangeListener, IContentChangeListener {
+
+    private static final String PRODUCT = "product";
+    private static final String BLOG = "blog";
+    private static final String STORY = "story";
+    private static final Set<String> TYPES = Set.of(PRODUCT, BLOG, STORY);
+
+    // Stories are the heart of the site, so they edge out products on equal text relevance
+    private static final float PRODUCT_BOOST = 1.0f;
+    private static final float BLOG_BOOST = 1.2f;
+    private static final float STORY_BOOST = 1.5f;
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float LABEL_WEIGHT = 2.0f;
+    private static final float SUMMARY_WEIGHT = 1.5f;
+    private static final float BODY_WEIGHT = 1.0f;
+
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int SNIPPET_LENGTH = 200;
+    // Only the start of long bodies is kept for snippets; the index still sees all of it
+    private static final int MAX_SNIPPET_SOURCE = 20000;
+
+    @Data
+    @AllArgsConstructor
+    private static class Document {
+        private String type;
+        private Long id;
+        private String title;
+        private String slug;
+        private String image;
+        private String text;
+    }
+
+    private final InvertedIndex<String> index = new InvertedIndex<>();
+    private final Map<String, Document> documents = new ConcurrentHashMap<>();
+
+    @Override
+    public SiteSearchResultDTO search(String query, String type, int page, int size) {
+        if (type != null && !TYPES.contains(type)) {
+            throw new IllegalArgumentException("Unknown type: " + type);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageIndex = Math.max(page, 0);
+        String prefix = type == null ? null : type + ":";
+
+        // In long so a huge page gives an empty page instead of wrapping around to the first one
+        int offset = (int) Math.min((long) pageIndex * pageSize, Integer.MAX_VALUE);
+        InvertedIndex.Result<String> result = index.search(query,
+                prefix == null ? null : key -> key.startsWith(prefix),
+                offset, pageSize);
+
+        List<String> tokens = TextNormalizer.tokenize(query);
+        List<SiteSearchHitDTO> items = new ArrayList<>(result.getHits().size());
+        for (InvertedIndex.Hit<String> hit : result.getHits()) {
+            Document document = documents.get(hit.getKey());
+            if (document != null) {
+                items.add(new SiteSearchHitDTO(document.getType(), document.getId(), document.getTitle(),
+                        document.getSlug(), document.getImage(),
+                        SnippetUtil.highlight(document.getText(), tokens, SNIPPET_LENGTH), hit.getScore()));
+            }
+        }
+        return new SiteSearchResultDTO(items, result.getTotal(), pageIndex, pageSize);
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        Map<String, Float> terms = new HashMap<>();
+        InvertedIndex.addText(terms, product.getName(), TITLE_WEIGHT * PRODUCT_BOOST);
+        InvertedIndex.addText(terms, product.getCategory(), LABEL_WEIGHT * PRODUCT_BOOST);
+        InvertedIndex.addText(terms, product.getDescription(), BODY_WEIGHT * PRODUCT_BOOST);
+
+        String text = SnippetUtil.plainText(product.getDescription(), MAX_SNIPPET_SOURCE);
+        put(new Document(PRODUCT, product.getId(), product.getName(), null,
+                ProductSummaryDTO.from(product).getPrimaryImage(), text), terms);
+    }
+
+    @Override
+    public void onProductDeleted(Long productId) {
+        remove(PRODUCT, productId);
+    }
+
+    @Override
+    public void onBlogSaved(Blog blog) {
+        if (!"published".equals(blog.getStatus())) {
+            remove(BLOG, blog.getId());
+            return;
+        }
+        String body = SnippetUtil.plainText(blog.getContent(), Integer.MAX_VALUE);
+        Map<String, Float> terms = new HashMap<>();
+        InvertedIndex.addText(terms, blog.getTitle(), TITLE_WEIGHT * BLOG_BOOST);
+        InvertedIndex.addText(terms, String.join(" ", blog.getTags()), LABEL_WEIGHT * BLOG_BOOST);
+        InvertedIndex.addText(terms, blog.getCategory(), LABEL_WEIGHT * BLOG_BOOST);
+        InvertedIndex.addText(terms, blog.getExcerpt(), SUMMARY_WEIGHT * BLOG_BOOST);
+        InvertedIndex.addText(terms, body, BODY_WEIGHT * BLOG_BOOST);
+
+        String text = snippetSource(blog.getExcerpt(), body);
+        put(new Document(BLOG, blog.getId(), blog.getTitle(), blog.getSlug(), blog.getFeaturedImage(), text), terms);
+    }
+
+    @Override
+    public void onBlogDeleted(Long blogId) {
+        remove(BLOG, blogId);
+    }
+
+    @Override
+    public void onStorySaved(Story story) {
+        if (!"published".equals(story.getStatus())) {
+            remove(STORY, story.getId());
+            return;
+        }
+        StringBuilder blocks = new StringBuilder();
+        for (StoryBlock block : story.getBlocks()) {
+            if (block.getContent() != null) {
+                blocks.append(block.getContent()).append(' ');
+            }
+            if (block.getImageCaption() != null) {
+                blocks.append(block.getImageCaption()).append(' ');
+            }
+        }
+        String body = SnippetUtil.plainText(blocks.toString(), Integer.MAX_VALUE);
+        Map<String, Float> terms = new HashMap<>();
+        InvertedIndex.addText(terms, story.getTitle(), TITLE_WEIGHT * STORY_BOOST);
+        InvertedIndex.addText(terms, String.join(" ", story.getTags()), LABEL_WEIGHT * STORY_BOOST);
+        InvertedIndex.addText(terms, story.getDescription(), SUMMARY_WEIGHT * STORY_BOOST);
+        InvertedIndex.addText(terms, body, BODY_WEIGHT * STORY_BOOST);
+
+        String text = snippetSource(story.getDescription(), body);
+        put(new Document(STORY, story.getId(), story.getTitle(), story.getSlug(), story.getFeaturedImage(), text), terms);
+    }
+
+    @Override
+    public void onStoryDeleted(Long storyId) {
+        remove(STORY, storyId);
+    }
+
+    @Override
+    public boolean replayOnStartup() {
+        return true;
+    }
+
+    private void put(Document document, Map<String, Float> terms) {
+        String key = document.getType() + ":" + document.getId();
+        documents.put(key, document);
+        index.put(key, terms);
+    }
+
+    private void remove(String type, Long id) {
+        String key = type + ":" + id;
+        index.remove(key);
+        documents.remove(key);
+    }
+
+    private String snippetSource(String summary, String body) {
+        String text = summary == null || summary.isBlank() ? body : summary.trim() + " " + body;
+        return text.length() > MAX_SNIPPET_SOURCE ? text.substring(0, MAX_SNIPPET_SOURCE) : text;
+    }
+}
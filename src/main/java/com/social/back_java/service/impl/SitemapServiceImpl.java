@@ -0,0 +1,455 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.common.CachedDocumentDTO;
+import com.social.back_java.dto.common.FeedEntryDTO;
+import com.social.back_java.dto.common.SitemapEntryDTO;
+import com.social.back_java.model.Blog;
+import com.social.back_java.model.Product;
+import com.social.back_java.model.Story;
+import com.social.back_java.repository.BlogRepository;
+import com.social.back_java.repository.ProductRepository;
+import com.social.back_java.repository.StoryRepository;
+import com.social.back_java.service.IContentChangeListener;
+import com.social.back_java.service.IProductChangeListener;
+import com.social.back_java.service.ISitemapService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.util.UriUtils;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * sitemap.xml, sitemap shards and RSS/Atom feeds, written with a streaming XML writer from id-keyset
+ * projections so no entity is ever loaded. Each document is generated once and kept until any blog,
+ * story or product changes; concurrent requests for a missing document wait for a single generation.
+ */
+@Service
+public class SitemapServiceImpl implements ISitemapService, IContentChangeListener, IProductChangeListener {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final XMLOutputFactory XML_OUTPUT = XMLOutputFactory.newFactory();
+
+    private enum Section {
+        BLOGS("blogs", "/blogs/"),
+        STORIES("stories", "/stories/"),
+        PRODUCTS("products", "/products/");
+
+        private final String key;
+        private final String path;
+
+        Section(String key, String path) {
+            this.key = key;
+            this.path = path;
+        }
+
+        static Section fromKey(String key) {
+            for (Section section : values()) {
+                if (section.key.equalsIgnoreCase(key)) {
+                    return section;
+                }
+            }
+            return null;
+        }
+    }
+
+    private interface XmlBody {
+        void write(XMLStreamWriter xml) throws XMLStreamException;
+    }
+
+    @Value("${app.site-url}")
+    private String siteUrl;
+
+    @Value("${app.site-name}")
+    private String siteName;
+
+    @Value("${app.sitemap.base-url}")
+    private String sitemapBaseUrl;
+
+    @Value("${app.sitemap.shard-size}")
+    private int shardSize;
+
+    @Value("${app.feed.max-items}")
+    private int feedMaxItems;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ConcurrentHashMap<String, CompletableFuture<CachedDocumentDTO>> documents = new ConcurrentHashMap<>();
+
+    @Override
+    public CachedDocumentDTO getSitemap() {
+        return cached("sitemap", () -> {
+            long blogs = blogRepository.countByStatus("published");
+            long stories = storyRepository.countByStatus("published");
+            long products = productRepository.count();
+            if (blogs + stories + products <= shardSize) {
+                return xml(xml -> {
+                    startUrlset(xml);
+                    for (Section section : Section.values()) {
+                        writeUrls(xml, section, 0L, Integer.MAX_VALUE);
+                    }
+                    xml.writeEndElement();
+                });
+            }
+            // Large sites get a sitemap index with one shard of at most shardSize URLs per section page
+            return xml(xml -> {
+                xml.writeStartElement("sitemapindex");
+                xml.writeDefaultNamespace(SITEMAP_NS);
+                writeShardLinks(xml, Section.BLOGS, blogs);
+                writeShardLinks(xml, Section.STORIES, stories);
+                writeShardLinks(xml, Section.PRODUCTS, products);
+                xml.writeEndElement();
+            });
+        });
+    }
+
+    @Override
+    public Optional<CachedDocumentDTO> getSitemapShard(String type, int page) {
+        Section section = Section.fromKey(type);
+        if (section == null || page < 1) {
+            return Optional.empty();
+        }
+        // The shard start is looked up only when the shard is generated, not on every cached read
+        return Optional.ofNullable(cached("sitemap:" + section.key + ":" + page, () -> {
+            Long afterId = shardStart(section, page);
+            if (afterId == null) {
+                return null;
+            }
+            return xml(xml -> {
+                startUrlset(xml);
+                writeUrls(xml, section, afterId, shardSize);
+                xml.writeEndElement();
+            });
+        }));
+    }
+
+    @Override
+    public CachedDocumentDTO getFeed(String type, String format) {
+        Section section = Section.fromKey(type);
+        if (section == null || section == Section.PRODUCTS) {
+            throw new IllegalArgumentException("Unknown feed: " + type);
+        }
+        boolean atom;
+        if ("atom".equalsIgnoreCase(format)) {
+            atom = true;
+        } else if ("rss".equalsIgnoreCase(format)) {
+            atom = false;
+        } else {
+            throw new IllegalArgumentException("Unknown feed format: " + format);
+        }
+        return cached("feed:" + section.key + ":" + (atom ? "atom" : "rss"), () -> {
+            PageRequest latest = PageRequest.of(0, feedMaxItems);
+            List<FeedEntryDTO> entries = section == Section.BLOGS
+                    ? blogRepository.findFeedEntries(latest)
+                    : storyRepository.findFeedEntries(latest);
+            return xml(xml -> {
+                if (atom) {
+                    writeAtom(xml, section, entries);
+                } else {
+                    writeRss(xml, section, entries);
+                }
+            });
+        });
+    }
+
+    /**
+     * Generate a document at most once until the next content change, even under concurrent requests
+     * @param generator Builds the document bytes, or returns null when the document does not exist
+     * @return Cached document, or null when it does not exist
+     */
+    private CachedDocumentDTO cached(String key, Supplier<byte[]> generator) {
+        CompletableFuture<CachedDocumentDTO> future = documents.get(key);
+        if (future == null) {
+            CompletableFuture<CachedDocumentDTO> created = new CompletableFuture<>();
+            future = documents.putIfAbsent(key, created);
+            if (future == null) {
+                future = created;
+                try {
+                    byte[] content = generator.get();
+                    if (content == null) {
+                        // Not cached, so arbitrary page numbers cannot fill the map
+                        documents.remove(key, created);
+                        created.complete(null);
+                    } else {
+                        created.complete(new CachedDocumentDTO(content, DigestUtils.md5DigestAsHex(content)));
+                    }
+                } catch (RuntimeException e) {
+                    documents.remove(key, created);
+                    created.completeExceptionally(e);
+                }
+            }
+        }
+        return future.join();
+    }
+
+    private byte[] xml(XmlBody body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            XMLStreamWriter xml = XML_OUTPUT.createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            body.write(xml);
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Could not write XML document", e);
+        }
+        return out.toByteArray();
+    }
+
+    private void startUrlset(XMLStreamWriter xml) throws XMLStreamException {
+        xml.writeStartElement("urlset");
+        xml.writeDefaultNamespace(SITEMAP_NS);
+    }
+
+    // Streams one keyset batch at a time, so memory holds the output plus a single batch of projections
+    private void writeUrls(XMLStreamWriter xml, Section section, long afterId, int limit) throws XMLStreamException {
+        int written = 0;
+        long after = afterId;
+        while (written < limit) {
+            int requested = Math.min(BATCH_SIZE, limit - written);
+            List<SitemapEntryDTO> batch = sitemapEntries(section, after, requested);
+            for (SitemapEntryDTO entry : batch) {
+                String url = url(section, entry.getId(), entry.getSlug());
+                if (url == null) {
+                    continue;
+                }
+                xml.writeStartElement("url");
+                element(xml, "loc", url);
+                if (entry.getUpdatedAt() != null) {
+                    element(xml, "lastmod", DateTimeFormatter.ISO_INSTANT.format(entry.getUpdatedAt().toInstant()));
+                }
+                xml.writeEndElement();
+            }
+            written += batch.size();
+            if (batch.size() < requested) {
+                break;
+            }
+            after = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private void writeShardLinks(XMLStreamWriter xml, Section section, long count) throws XMLStreamException {
+        long pages = (count + shardSize - 1) / shardSize;
+        for (long page = 1; page <= pages; page++) {
+            xml.writeStartElement("sitemap");
+            element(xml, "loc", sitemapBaseUrl + "/sitemap/" + section.key + "/" + page + ".xml");
+            xml.writeEndElement();
+        }
+    }
+
+    /**
+     * Id after which a shard starts, found by skipping whole shards over the id index
+     * @return Exclusive starting id, or null when the shard does not exist
+     */
+    private Long shardStart(Section section, int page) {
+        long after = 0L;
+        for (int skipped = 1; skipped < page; skipped++) {
+            List<Long> lastOfShard = sitemapIds(section, after, PageRequest.of(shardSize - 1, 1));
+            if (lastOfShard.isEmpty()) {
+                return null;
+            }
+            after = lastOfShard.get(0);
+        }
+        return page == 1 || !sitemapIds(section, after, PageRequest.of(0, 1)).isEmpty() ? after : null;
+    }
+
+    private List<SitemapEntryDTO> sitemapEntries(Section section, long afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        switch (section) {
+            case BLOGS:
+                return blogRepository.findSitemapEntries(afterId, page);
+            case STORIES:
+                return storyRepository.findSitemapEntries(afterId, page);
+            default:
+                return productRepository.findSitemapEntries(afterId, page);
+        }
+    }
+
+    private List<Long> sitemapIds(Section section, long afterId, PageRequest page) {
+        switch (section) {
+            case BLOGS:
+                return blogRepository.findSitemapIds(afterId, page);
+            case STORIES:
+                return storyRepository.findSitemapIds(afterId, page);
+            default:
+                return productRepository.findSitemapIds(afterId, page);
+        }
+    }
+
+    private void writeRss(XMLStreamWriter xml, Section section, List<FeedEntryDTO> entries) throws XMLStreamException {
+        xml.writeStartElement("rss");
+        xml.writeAttribute("version", "2.0");
+        xml.writeStartElement("channel");
+        element(xml, "title", siteName + " - " + section.key);
+        element(xml, "link", siteUrl + section.path);
+        element(xml, "description", "Latest " + section.key + " from " + siteName);
+        Date updated = latestUpdate(entries);
+        if (updated != null) {
+            element(xml, "lastBuildDate", rfc1123(updated));
+        }
+        for (FeedEntryDTO entry : entries) {
+            String url = url(section, entry.getId(), entry.getSlug());
+            if (url == null) {
+                continue;
+            }
+            xml.writeStartElement("item");
+            element(xml, "title", entry.getTitle());
+            element(xml, "link", url);
+            xml.writeStartElement("guid");
+            xml.writeAttribute("isPermaLink", "true");
+            xml.writeCharacters(url);
+            xml.writeEndElement();
+            if (entry.getPublishedAt() != null) {
+                element(xml, "pubDate", rfc1123(entry.getPublishedAt()));
+            }
+            if (entry.getSummary() != null) {
+                element(xml, "description", entry.getSummary());
+            }
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    private void writeAtom(XMLStreamWriter xml, Section section, List<FeedEntryDTO> entries) throws XMLStreamException {
+        Date updated = latestUpdate(entries);
+
+        xml.writeStartElement("feed");
+        xml.writeDefaultNamespace(ATOM_NS);
+        element(xml, "title", siteName + " - " + section.key);
+        element(xml, "id", siteUrl + section.path);
+        element(xml, "updated", iso(updated != null ? updated : new Date(0)));
+        link(xml, "alternate", siteUrl + section.path);
+        link(xml, "self", sitemapBaseUrl + "/feeds/" + section.key + ".atom");
+        for (FeedEntryDTO entry : entries) {
+            String url = url(section, entry.getId(), entry.getSlug());
+            if (url == null) {
+                continue;
+            }
+            Date published = entry.getPublishedAt() != null ? entry.getPublishedAt() : entry.getUpdatedAt();
+            xml.writeStartElement("entry");
+            element(xml, "title", entry.getTitle());
+            element(xml, "id", url);
+            link(xml, "alternate", url);
+            element(xml, "updated", iso(entry.getUpdatedAt() != null ? entry.getUpdatedAt() : published));
+            if (published != null) {
+                element(xml, "published", iso(published));
+            }
+            if (entry.getSummary() != null) {
+                element(xml, "summary", entry.getSummary());
+            }
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+    }
+
+    // Feed dates come from the entries rather than the clock, so equal content gives equal bytes and ETags
+    private Date latestUpdate(List<FeedEntryDTO> entries) {
+        Date updated = null;
+        for (FeedEntryDTO entry : entries) {
+            if (entry.getUpdatedAt() != null && (updated == null || entry.getUpdatedAt().after(updated))) {
+                updated = entry.getUpdatedAt();
+            }
+        }
+        return updated;
+    }
+
+    // Public page URL; blogs and stories without a slug are not routable and are left out
+    private String url(Section section, Long id, String slug) {
+        if (section == Section.PRODUCTS) {
+            return siteUrl + section.path + id;
+        }
+        if (slug == null || slug.isEmpty()) {
+            return null;
+        }
+        return siteUrl + section.path + UriUtils.encodePathSegment(slug, StandardCharsets.UTF_8);
+    }
+
+    private void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text != null ? text : "");
+        xml.writeEndElement();
+    }
+
+    private void link(XMLStreamWriter xml, String rel, String href) throws XMLStreamException {
+        xml.writeEmptyElement("link");
+        xml.writeAttribute("rel", rel);
+        xml.writeAttribute("href", href);
+    }
+
+    private String iso(Date date) {
+        return DateTimeFormatter.ISO_INSTANT.format(date.toInstant());
+    }
+
+    private String rfc1123(Date date) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(date.toInstant().atZone(ZoneOffset.UTC));
+    }
+
+    private void invalidate() {
+        documents.clear();
+    }
+
+    @Override
+    public void onBlogSaved(Blog blog) {
+        invalidate();
+    }
+
+    @Override
+    public void onBlogDeleted(Long blogId) {
+        invalidate();
+    }
+
+    @Override
+    public void onStorySaved(Story story) {
+        invalidate();
+    }
+
+    @Override
+    public void onStoryDeleted(Long storyId) {
+        invalidate();
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        invalidate();
+    }
+
+    @Override
+    public void onProductDeleted(Long productId) {
+        invalidate();
+    }
+
+    @Override
+    public void onProductsSaved(List<Product> products) {
+        invalidate();
+    }
+
+    // Both listener interfaces declare this default; the sitemap only invalidates, so nothing to replay
+    @Override
+    public boolean replayOnStartup() {
+        return false;
+    }
+}
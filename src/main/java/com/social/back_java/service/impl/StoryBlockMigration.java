@@ -0,0 +1,53 @@
+package com.social.back_java.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves blocks from the old story_blocks element table into story_content_blocks, spacing their sort
+ * keys apart, then drops the old table. Runs ahead of the content replay.
+ */
+@Component
+public class StoryBlockMigration {
+
+    private static final String COPY_LEGACY_BLOCKS = "INSERT INTO story_content_blocks " +
+            "(story_id, type, sort_order, content, image_url, image_public_id, image_caption, image_alt) " +
+            "SELECT story_id, type, " +
+            "ROW_NUMBER() OVER (PARTITION BY story_id ORDER BY sort_order) * " + StoryServiceImpl.BLOCK_SORT_GAP + ", " +
+            "content, image_url, image_public_id, image_caption, image_alt FROM story_blocks";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        if (!legacyTableExists()) {
+            return;
+        }
+        // Copy and empty together, so an interrupted run is either redone in full or never repeated
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update(COPY_LEGACY_BLOCKS);
+            jdbcTemplate.update("DELETE FROM story_blocks");
+        });
+        // Its foreign key to stories would otherwise block deleting migrated stories
+        jdbcTemplate.execute("DROP TABLE story_blocks");
+    }
+
+    private boolean legacyTableExists() {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS(SELECT 1 FROM information_schema.tables " +
+                        "WHERE table_schema = SCHEMA() AND table_name = 'story_blocks')", Boolean.class);
+        return Boolean.TRUE.equals(exists);
+    }
+}
@@ -1,16 +1,35 @@
 package com.social.back_java.service.impl;
 
+import com.social.back_java.dto.common.CollectionVersionDTO;
+import com.social.back_java.dto.common.CursorPage;
+import com.social.back_java.dto.common.EntityVersionDTO;
+import com.social.back_java.dto.story.StoryBlockPage;
+import com.social.back_java.dto.story.StoryBlockRequest;
+import com.social.back_java.dto.story.StoryHeaderDTO;
+import com.social.back_java.dto.story.StorySummaryDTO;
+import com.social.back_java.dto.story.StoryTagDTO;
 import com.social.back_java.model.Story;
 import com.social.back_java.model.StoryBlock;
+import com.social.back_java.repository.StoryBlockRepository;
 import com.social.back_java.repository.StoryRepository;
 import com.social.back_java.service.ICloudinaryService;
+import com.social.back_java.service.IPublishSchedulerService;
 import com.social.back_java.service.IStoryService;
+import com.social.back_java.service.ITrendingService;
+import com.social.back_java.util.CursorUtil;
+import com.social.back_java.util.TransactionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -18,17 +37,72 @@ import java.util.Optional;
 @Service
 public class StoryServiceImpl implements IStoryService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_BLOCK_PAGE_SIZE = 10;
+    private static final int MAX_BLOCK_PAGE_SIZE = 50;
+
+    // Spacing between block sort keys; a move takes the midpoint of its new neighbours
+    static final int BLOCK_SORT_GAP = 1024;
+    private static final long NO_BLOCK = -1L;
+    private static final Pageable FIRST_ROW = PageRequest.of(0, 1);
+
     @Autowired
     private StoryRepository storyRepository;
 
+    @Autowired
+    private StoryBlockRepository storyBlockRepository;
+
     @Autowired
     private ICloudinaryService cloudinaryService;
 
+    @Autowired
+    private ContentChangePublisher contentChangePublisher;
+
+    @Autowired
+    private ContentSlugRegistry slugRegistry;
+
+    @Autowired
+    private ITrendingService trendingService;
+
+    @Autowired
+    private IPublishSchedulerService publishScheduler;
+
     @Override
     public List<Story> getAllStories() {
         return storyRepository.findAll();
     }
 
+    @Override
+    public CursorPage<StorySummaryDTO> getStorySummaries(String cursor, Integer size, String status, String tag) {
+        int pageSize = size == null || size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        CursorUtil.Cursor position = cursor == null || cursor.isEmpty() ? null : CursorUtil.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists
+        List<StorySummaryDTO> stories = storyRepository.findSummaries(status, tag, position, pageSize + 1);
+        boolean hasMore = stories.size() > pageSize;
+        if (hasMore) {
+            stories = stories.subList(0, pageSize);
+        }
+
+        if (!stories.isEmpty()) {
+            Map<Long, StorySummaryDTO> byId = new HashMap<>();
+            for (StorySummaryDTO story : stories) {
+                byId.put(story.getId(), story);
+            }
+            for (StoryTagDTO storyTag : storyRepository.findTagsByStoryIds(byId.keySet())) {
+                byId.get(storyTag.getStoryId()).getTags().add(storyTag.getTag());
+            }
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            StorySummaryDTO last = stories.get(stories.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(stories, nextCursor, hasMore);
+    }
+
     @Override
     public Optional<Story> getStoryById(Long id) {
         return storyRepository.findById(id);
@@ -36,7 +110,66 @@ public class StoryServiceImpl implements IStoryService {
 
     @Override
     public Optional<Story> getStoryBySlug(String slug) {
-        return storyRepository.findBySlug(slug);
+        return slugRegistry.findStoryId(slug).flatMap(storyRepository::findById);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StoryHeaderDTO> getStoryHeader(Long id, Integer blockLimit) {
+        Optional<StoryHeaderDTO> header = storyRepository.findHeaderById(id);
+        header.ifPresent(story -> {
+            for (StoryTagDTO storyTag : storyRepository.findTagsByStoryIds(List.of(id))) {
+                story.getTags().add(storyTag.getTag());
+            }
+            StoryBlockPage firstBlocks = getStoryBlocks(id, null, null, blockLimit);
+            story.setBlocks(firstBlocks.getBlocks());
+            story.setNextFromOrder(firstBlocks.getNextFromOrder());
+            story.setNextFromId(firstBlocks.getNextFromId());
+            story.setBlockCount(storyBlockRepository.countByStoryId(id));
+        });
+        return header;
+    }
+
+    @Override
+    public StoryBlockPage getStoryBlocks(Long storyId, Integer fromOrder, Long fromId, Integer limit) {
+        int pageSize = limit == null || limit < 1 ? DEFAULT_BLOCK_PAGE_SIZE : Math.min(limit, MAX_BLOCK_PAGE_SIZE);
+        // Sort keys can be negative after inserts at the top, so no lower bound by default
+        int from = fromOrder != null ? fromOrder : Integer.MIN_VALUE;
+        // Sort keys are not unique (concurrent appends can pick the same one), so the id completes the position
+        long fromBlockId = fromId != null ? fromId : Long.MIN_VALUE;
+
+        // Fetch one extra block: its position is where the next range starts
+        List<StoryBlock> blocks = storyBlockRepository.findRange(storyId, from, fromBlockId, PageRequest.of(0, pageSize + 1));
+        Integer nextFromOrder = null;
+        Long nextFromId = null;
+        if (blocks.size() > pageSize) {
+            nextFromOrder = blocks.get(pageSize).getSortOrder();
+            nextFromId = blocks.get(pageSize).getId();
+            blocks = new ArrayList<>(blocks.subList(0, pageSize));
+        }
+        return new StoryBlockPage(blocks, nextFromOrder, nextFromId, nextFromOrder != null);
+    }
+
+    @Override
+    public Optional<EntityVersionDTO> getStoryVersion(Long id) {
+        return slugRegistry.findStoryVersion(id);
+    }
+
+    @Override
+    public void recordView(Long storyId) {
+        trendingService.recordStoryView(storyId);
+    }
+
+    @Override
+    public Optional<EntityVersionDTO> getStoryVersionBySlug(String slug) {
+        return slugRegistry.findStoryVersionBySlug(slug);
+    }
+
+    @Override
+    public CollectionVersionDTO getStoriesVersion(String status) {
+        return status != null
+                ? storyRepository.findStatusVersion(status)
+                : storyRepository.findCollectionVersion();
     }
 
     @Override
@@ -45,34 +178,79 @@ public class StoryServiceImpl implements IStoryService {
     }
 
     @Override
+    @Transactional
     public Story createStory(Story story) {
-        return storyRepository.save(story);
+        List<StoryBlock> blocks = detachBlocks(story);
+        Story saved = storyRepository.save(story);
+        saved.getBlocks().addAll(syncBlocks(saved.getId(), blocks));
+        contentChangePublisher.storySaved(saved);
+        return saved;
     }
 
     @Override
+    @Transactional
     public Story updateStory(Long id, Story story) {
         if (storyRepository.existsById(id)) {
+            List<StoryBlock> blocks = detachBlocks(story);
             story.setId(id);
-            return storyRepository.save(story);
+            Story saved = storyRepository.save(story);
+            saved.getBlocks().addAll(syncBlocks(id, blocks));
+            contentChangePublisher.storySaved(saved);
+            return saved;
         }
         throw new RuntimeException("Story not found with id: " + id);
     }
 
     @Override
+    @Transactional
     public void deleteStory(Long id) {
+        // Blocks are no longer cascaded through the story, so drop them in one statement first
+        storyBlockRepository.deleteByStoryIdInBulk(id);
         storyRepository.deleteById(id);
+        contentChangePublisher.storyDeleted(id);
     }
 
     @Override
+    @Transactional
     public Story publishStory(Long id) {
         Story story = storyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Story not found with id: " + id));
         story.setStatus("published");
         story.setPublishedAt(new Date());
-        return storyRepository.save(story);
+        story.setScheduledPublishAt(null);
+        return saveAndPublish(story);
+    }
+
+    @Override
+    @Transactional
+    public Story schedulePublish(Long id, Date publishAt) {
+        if (publishAt == null || !publishAt.after(new Date())) {
+            throw new IllegalArgumentException("Publish time must be in the future");
+        }
+        Story story = storyRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Story not found with id: " + id));
+        if ("published".equals(story.getStatus())) {
+            throw new IllegalArgumentException("Story is already published");
+        }
+        story.setScheduledPublishAt(publishAt);
+        Story saved = saveAndPublish(story);
+        // Queue only once the schedule is committed, since the scheduler re-checks it in the database
+        TransactionUtil.afterCommit(() -> publishScheduler.scheduleStory(id, publishAt));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public Story cancelScheduledPublish(Long id) {
+        Story story = storyRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Story not found with id: " + id));
+        // A queued entry may still fire, but finds nothing due and is dropped
+        story.setScheduledPublishAt(null);
+        return saveAndPublish(story);
     }
 
     @Override
+    @Transactional
     public Story uploadFeaturedImage(Long storyId, MultipartFile image) throws IOException {
         Story story = storyRepository.findById(storyId)
                 .orElseThrow(() -> new RuntimeException("Story not found with id: " + storyId));
@@ -80,38 +258,65 @@ public class StoryServiceImpl implements IStoryService {
         Map<String, Object> uploadResult = cloudinaryService.uploadImage(image);
         story.setFeaturedImage((String) uploadResult.get("secure_url"));
 
-        return storyRepository.save(story);
+        return saveAndPublish(story);
     }
 
     @Override
-    public Story addBlockImage(Long storyId, int blockIndex, MultipartFile image) throws IOException {
-        Story story = storyRepository.findById(storyId)
-                .orElseThrow(() -> new RuntimeException("Story not found with id: " + storyId));
+    @Transactional
+    public StoryBlock addBlock(Long storyId, StoryBlockRequest request) {
+        requireStory(storyId);
+        StoryBlock block = new StoryBlock();
+        block.setStoryId(storyId);
+        block.setType("text");
+        applyContent(block, request);
+        block.setSortOrder(sortOrderFor(storyId, request.getAfterBlockId(), request.getBeforeBlockId(), NO_BLOCK));
+        StoryBlock saved = storyBlockRepository.save(block);
+        blocksChanged(storyId);
+        return saved;
+    }
 
-        if (blockIndex < 0 || blockIndex >= story.getBlocks().size()) {
-            throw new RuntimeException("Invalid block index: " + blockIndex);
+    @Override
+    @Transactional
+    public StoryBlock updateBlock(Long storyId, Long blockId, StoryBlockRequest request) {
+        StoryBlock block = requireBlock(storyId, blockId);
+        applyContent(block, request);
+        if (request.getAfterBlockId() != null || request.getBeforeBlockId() != null) {
+            block.setSortOrder(sortOrderFor(storyId, request.getAfterBlockId(), request.getBeforeBlockId(), blockId));
+        }
+        blocksChanged(storyId);
+        return block;
+    }
+
+    @Override
+    @Transactional
+    public void deleteBlock(Long storyId, Long blockId) throws IOException {
+        StoryBlock block = requireBlock(storyId, blockId);
+        if (block.getImagePublicId() != null) {
+            cloudinaryService.deleteFile(block.getImagePublicId());
         }
+        // Remaining blocks keep their sort keys, so nothing else is rewritten
+        storyBlockRepository.delete(block);
+        blocksChanged(storyId);
+    }
+
+    @Override
+    @Transactional
+    public Story addBlockImage(Long storyId, int blockIndex, MultipartFile image) throws IOException {
+        StoryBlock block = blockAt(storyId, blockIndex);
 
         Map<String, Object> uploadResult = cloudinaryService.uploadImage(image);
         
-        StoryBlock block = story.getBlocks().get(blockIndex);
         block.setType("image");
         block.setImageUrl((String) uploadResult.get("secure_url"));
         block.setImagePublicId((String) uploadResult.get("public_id"));
 
-        return storyRepository.save(story);
+        return blocksChanged(storyId);
     }
 
     @Override
+    @Transactional
     public Story removeBlockImage(Long storyId, int blockIndex) throws IOException {
-        Story story = storyRepository.findById(storyId)
-                .orElseThrow(() -> new RuntimeException("Story not found with id: " + storyId));
-
-        if (blockIndex < 0 || blockIndex >= story.getBlocks().size()) {
-            throw new RuntimeException("Invalid block index: " + blockIndex);
-        }
-
-        StoryBlock block = story.getBlocks().get(blockIndex);
+        StoryBlock block = blockAt(storyId, blockIndex);
         if (block.getImagePublicId() != null) {
             cloudinaryService.deleteFile(block.getImagePublicId());
         }
@@ -121,6 +326,173 @@ public class StoryServiceImpl implements IStoryService {
         block.setImageCaption(null);
         block.setImageAlt(null);
 
-        return storyRepository.save(story);
+        return blocksChanged(storyId);
+    }
+
+    private void requireStory(Long storyId) {
+        if (!storyRepository.existsById(storyId)) {
+            throw new RuntimeException("Story not found with id: " + storyId);
+        }
+    }
+
+    private StoryBlock requireBlock(Long storyId, Long blockId) {
+        return storyBlockRepository.findByIdAndStoryId(blockId, storyId)
+                .orElseThrow(() -> new RuntimeException("Block not found with id: " + blockId));
+    }
+
+    private StoryBlock blockAt(Long storyId, int blockIndex) {
+        requireStory(storyId);
+        List<StoryBlock> blocks = blockIndex < 0 ? List.of()
+                : storyBlockRepository.findByStoryIdOrderBySortOrderAscIdAsc(storyId, PageRequest.of(blockIndex, 1));
+        if (blocks.isEmpty()) {
+            throw new RuntimeException("Invalid block index: " + blockIndex);
+        }
+        return blocks.get(0);
+    }
+
+    private void applyContent(StoryBlock block, StoryBlockRequest request) {
+        if (request.getType() != null) {
+            block.setType(request.getType());
+        }
+        if (request.getContent() != null) {
+            block.setContent(request.getContent());
+        }
+        if (request.getImageCaption() != null) {
+            block.setImageCaption(request.getImageCaption());
+        }
+        if (request.getImageAlt() != null) {
+            block.setImageAlt(request.getImageAlt());
+        }
+    }
+
+    /**
+     * Sort key strictly between the neighbours of the requested position. Only when two neighbours have
+     * no gap left are the story's blocks respaced, once, before trying again.
+     * @param storyId Story owning the blocks
+     * @param afterBlockId Block to follow, or null
+     * @param beforeBlockId Block to precede, or null; neither means the end of the story
+     * @param movingId Block being moved, left out of the neighbours, or NO_BLOCK for an insert
+     * @return Sort key for the block
+     */
+    private int sortOrderFor(Long storyId, Long afterBlockId, Long beforeBlockId, Long movingId) {
+        if (afterBlockId != null && beforeBlockId != null) {
+            throw new IllegalArgumentException("Specify either afterBlockId or beforeBlockId, not both");
+        }
+        if (movingId.equals(afterBlockId) || movingId.equals(beforeBlockId)) {
+            throw new IllegalArgumentException("A block cannot be positioned relative to itself");
+        }
+
+        StoryBlock previous;
+        StoryBlock next;
+        if (afterBlockId != null) {
+            previous = requireBlock(storyId, afterBlockId);
+            next = first(storyBlockRepository.findFollowing(storyId, previous.getSortOrder(), movingId, FIRST_ROW));
+        } else if (beforeBlockId != null) {
+            next = requireBlock(storyId, beforeBlockId);
+            previous = first(storyBlockRepository.findPreceding(storyId, next.getSortOrder(), movingId, FIRST_ROW));
+        } else {
+            previous = first(storyBlockRepository.findLast(storyId, movingId, FIRST_ROW));
+            next = null;
+        }
+
+        if (previous == null && next == null) {
+            return BLOCK_SORT_GAP;
+        }
+        if (previous == null) {
+            return next.getSortOrder() - BLOCK_SORT_GAP;
+        }
+        if (next == null) {
+            return previous.getSortOrder() + BLOCK_SORT_GAP;
+        }
+        int gap = next.getSortOrder() - previous.getSortOrder();
+        if (gap > 1) {
+            return previous.getSortOrder() + gap / 2;
+        }
+        respaceBlocks(storyId, movingId);
+        return sortOrderFor(storyId, afterBlockId, beforeBlockId, movingId);
+    }
+
+    // Rare fallback once repeated moves into the same spot have used up the gap
+    private void respaceBlocks(Long storyId, Long movingId) {
+        int sortOrder = 0;
+        for (StoryBlock block : storyBlockRepository.findByStoryIdOrderBySortOrderAscIdAsc(storyId)) {
+            if (!block.getId().equals(movingId)) {
+                sortOrder += BLOCK_SORT_GAP;
+                block.setSortOrder(sortOrder);
+            }
+        }
+    }
+
+    private StoryBlock first(List<StoryBlock> blocks) {
+        return blocks.isEmpty() ? null : blocks.get(0);
+    }
+
+    // Blocks arrive with the story JSON but are written separately, so keep them off the story entity
+    private List<StoryBlock> detachBlocks(Story story) {
+        List<StoryBlock> blocks = story.getBlocks() != null ? story.getBlocks() : new ArrayList<>();
+        story.setBlocks(new ArrayList<>());
+        return blocks;
+    }
+
+    /**
+     * Apply the full block list of a whole-story create or update. Blocks are matched by id, so unchanged
+     * blocks are not written, edited ones get a single-row update and only dropped ones are deleted.
+     * @param storyId Story owning the blocks
+     * @param submitted Blocks in the request, ordered by their sortOrder
+     * @return The story's blocks in order
+     */
+    private List<StoryBlock> syncBlocks(Long storyId, List<StoryBlock> submitted) {
+        Map<Long, StoryBlock> existing = new HashMap<>();
+        for (StoryBlock block : storyBlockRepository.findByStoryIdOrderBySortOrderAscIdAsc(storyId)) {
+            existing.put(block.getId(), block);
+        }
+
+        List<StoryBlock> ordered = new ArrayList<>(submitted);
+        ordered.sort(Comparator.comparingInt(StoryBlock::getSortOrder));
+        // Submitted keys are kept when they already give a strict order, otherwise the list is respaced
+        boolean distinct = true;
+        for (int i = 1; i < ordered.size(); i++) {
+            if (ordered.get(i).getSortOrder() <= ordered.get(i - 1).getSortOrder()) {
+                distinct = false;
+                break;
+            }
+        }
+
+        List<StoryBlock> blocks = new ArrayList<>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            StoryBlock source = ordered.get(i);
+            StoryBlock block = source.getId() != null ? existing.remove(source.getId()) : null;
+            if (block == null) {
+                block = new StoryBlock();
+                block.setStoryId(storyId);
+            }
+            block.setType(source.getType());
+            block.setContent(source.getContent());
+            block.setImageUrl(source.getImageUrl());
+            block.setImagePublicId(source.getImagePublicId());
+            block.setImageCaption(source.getImageCaption());
+            block.setImageAlt(source.getImageAlt());
+            block.setSortOrder(distinct ? source.getSortOrder() : (i + 1) * BLOCK_SORT_GAP);
+            blocks.add(block);
+        }
+
+        storyBlockRepository.deleteAllInBatch(existing.values());
+        return storyBlockRepository.saveAll(blocks);
+    }
+
+    // Bumps the story version so ETags, the render cache and the indexes pick up a block-level change
+    private Story blocksChanged(Long storyId) {
+        storyBlockRepository.flush();
+        Story story = storyRepository.findById(storyId)
+                .orElseThrow(() -> new RuntimeException("Story not found with id: " + storyId));
+        story.setUpdatedAt(new Date());
+        contentChangePublisher.storySaved(story);
+        return story;
+    }
+
+    private Story saveAndPublish(Story story) {
+        Story saved = storyRepository.save(story);
+        contentChangePublisher.storySaved(saved);
+        return saved;
     }
 }
@@ -0,0 +1,137 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.common.TagCountDTO;
+import com.social.back_java.model.Blog;
+import com.social.back_java.model.Story;
+import com.social.back_java.service.IContentChangeListener;
+import com.social.back_java.service.ITagService;
+import com.social.back_java.util.LongObjectHashMap;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tag cloud counts of published blogs and stories. Each item's current tags are remembered, so a save
+ * only applies the difference to the counts instead of regrouping the tag tables. Filled by the
+ * startup replay of ContentChangePublisher and kept current by its after-commit events.
+ */
+@Service
+public class TagServiceImpl implements ITagService, IContentChangeListener {
+
+    private static final int MAX_LIMIT = 200;
+    private static final String[] NO_TAGS = new String[0];
+
+    private static class TagCounts {
+        private final LongObjectHashMap<String[]> tagsById = new LongObjectHashMap<>();
+        private final Map<String, int[]> counts = new HashMap<>();
+
+        void update(long id, String[] tags) {
+            String[] previous = tagsById.get(id);
+            if (previous != null) {
+                for (String tag : previous) {
+                    int[] count = counts.get(tag);
+                    if (--count[0] == 0) {
+                        counts.remove(tag);
+                    }
+                }
+            }
+            for (String tag : tags) {
+                counts.computeIfAbsent(tag, t -> new int[1])[0]++;
+            }
+            if (tags.length > 0) {
+                tagsById.put(id, tags);
+            } else if (previous != null) {
+                tagsById.remove(id);
+            }
+        }
+
+        int count(String tag) {
+            int[] count = counts.get(tag);
+            return count != null ? count[0] : 0;
+        }
+    }
+
+    private final TagCounts blogs = new TagCounts();
+    private final TagCounts stories = new TagCounts();
+
+    @Override
+    public synchronized List<TagCountDTO> getTagCloud(String type, int limit) {
+        boolean includeBlogs;
+        boolean includeStories;
+        if (type == null || type.isEmpty() || "all".equalsIgnoreCase(type)) {
+            includeBlogs = true;
+            includeStories = true;
+        } else if ("blog".equalsIgnoreCase(type)) {
+            includeBlogs = true;
+            includeStories = false;
+        } else if ("story".equalsIgnoreCase(type)) {
+            includeBlogs = false;
+            includeStories = true;
+        } else {
+            throw new IllegalArgumentException("Unknown tag type: " + type);
+        }
+
+        Set<String> tags = new LinkedHashSet<>();
+        if (includeBlogs) {
+            tags.addAll(blogs.counts.keySet());
+        }
+        if (includeStories) {
+            tags.addAll(stories.counts.keySet());
+        }
+        List<TagCountDTO> cloud = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            int blogCount = includeBlogs ? blogs.count(tag) : 0;
+            int storyCount = includeStories ? stories.count(tag) : 0;
+            cloud.add(new TagCountDTO(tag, blogCount, storyCount, blogCount + storyCount));
+        }
+        cloud.sort(Comparator.comparingInt(TagCountDTO::getCount).reversed().thenComparing(TagCountDTO::getTag));
+
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return cloud.size() > size ? new ArrayList<>(cloud.subList(0, size)) : cloud;
+    }
+
+    // Only published content counts; unpublishing is handled like removing every tag
+    private String[] countedTags(String status, List<String> tags) {
+        if (!"published".equals(status) || tags == null || tags.isEmpty()) {
+            return NO_TAGS;
+        }
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String tag : tags) {
+            if (tag != null && !tag.isBlank()) {
+                distinct.add(tag);
+            }
+        }
+        return distinct.toArray(NO_TAGS);
+    }
+
+    @Override
+    public boolean replayOnStartup() {
+        return true;
+    }
+
+    @Override
+    public synchronized void onBlogSaved(Blog blog) {
+        blogs.update(blog.getId(), countedTags(blog.getStatus(), blog.getTags()));
+    }
+
+    @Override
+    public synchronized void onBlogDeleted(Long blogId) {
+        blogs.update(blogId, NO_TAGS);
+    }
+
+    @Override
+    public synchronized void onStorySaved(Story story) {
+        stories.update(story.getId(), countedTags(story.getStatus(), story.getTags()));
+    }
+
+    @Override
+    public synchronized void onStoryDeleted(Long storyId) {
+        stories.update(storyId, NO_TAGS);
+    }
+}
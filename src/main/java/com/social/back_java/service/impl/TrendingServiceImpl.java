@@ -0,0 +1,205 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.common.TrendingItemDTO;
+import com.social.back_java.model.Blog;
+import com.social.back_java.model.Story;
+import com.social.back_java.model.TrendingScore;
+import com.social.back_java.repository.BlogRepository;
+import com.social.back_java.repository.StoryRepository;
+import com.social.back_java.repository.TrendingScoreRepository;
+import com.social.back_java.service.IContentChangeListener;
+import com.social.back_java.service.ITrendingService;
+import com.social.back_java.util.DecayedTopK;
+import com.social.back_java.util.TransactionUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Trending blogs and stories ranked by exponentially decayed views, likes and comments. Scores and the
+ * top ids are maintained in memory as events arrive, so a trending request is a top set read plus one
+ * query for the titles. Scores are snapshotted to trending_scores and reloaded on startup.
+ */
+@Service
+public class TrendingServiceImpl implements ITrendingService, IContentChangeListener {
+
+    private static final String BLOG = "blog";
+    private static final String STORY = "story";
+
+    private static final double VIEW_WEIGHT = 1.0;
+    private static final double LIKE_WEIGHT = 4.0;
+    private static final double COMMENT_WEIGHT = 6.0;
+
+    // Tracked top ids per type; more than MAX_LIMIT so drafts in the top set do not starve the list
+    private static final int TOP_CAPACITY = 100;
+    private static final int MAX_LIMIT = 50;
+    // Scores that decayed below this are forgotten when snapshotting
+    private static final double MIN_SCORE = 0.01;
+
+    private static final String INSERT_SCORE = "INSERT INTO trending_scores (content_type, content_id, score, scored_at) " +
+            "VALUES (?, ?, ?, ?)";
+
+    @Value("${content.trending.half-life-hours}")
+    private double halfLifeHours;
+
+    @Autowired
+    private TrendingScoreRepository trendingScoreRepository;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private DecayedTopK blogs;
+    private DecayedTopK stories;
+
+    @PostConstruct
+    public synchronized void load() {
+        long halfLifeMillis = (long) (halfLifeHours * 3_600_000L);
+        long now = System.currentTimeMillis();
+        blogs = new DecayedTopK(halfLifeMillis, TOP_CAPACITY, now);
+        stories = new DecayedTopK(halfLifeMillis, TOP_CAPACITY, now);
+        // A snapshot score decayed to scoredAt is the same as one event of that weight at scoredAt
+        for (TrendingScore row : trendingScoreRepository.findAll()) {
+            DecayedTopK board = BLOG.equals(row.getContentType()) ? blogs : stories;
+            board.add(row.getContentId(), row.getScore(), row.getScoredAt().getTime());
+        }
+    }
+
+    @Override
+    public void recordBlogView(Long blogId) {
+        record(BLOG, blogId, VIEW_WEIGHT);
+    }
+
+    @Override
+    public void recordBlogLike(Long blogId) {
+        record(BLOG, blogId, LIKE_WEIGHT);
+    }
+
+    @Override
+    public void recordBlogComment(Long blogId) {
+        record(BLOG, blogId, COMMENT_WEIGHT);
+    }
+
+    @Override
+    public void recordStoryView(Long storyId) {
+        record(STORY, storyId, VIEW_WEIGHT);
+    }
+
+    // Likes and comments are recorded inside their write transaction, so only count them once committed
+    private void record(String type, Long id, double weight) {
+        TransactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                board(type).add(id, weight, System.currentTimeMillis());
+            }
+        });
+    }
+
+    @Override
+    public List<TrendingItemDTO> getTrendingBlogs(int limit) {
+        return trending(BLOG, limit, blogRepository::findTrendingItems);
+    }
+
+    @Override
+    public List<TrendingItemDTO> getTrendingStories(int limit) {
+        return trending(STORY, limit, storyRepository::findTrendingItems);
+    }
+
+    private List<TrendingItemDTO> trending(String type, int limit,
+                                           Function<Collection<Long>, List<TrendingItemDTO>> loader) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<DecayedTopK.Scored> top;
+        synchronized (this) {
+            top = board(type).top(TOP_CAPACITY, System.currentTimeMillis());
+        }
+        if (top.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (DecayedTopK.Scored scored : top) {
+            scores.put(scored.getId(), scored.getScore());
+        }
+        // The loader only returns published content, so drafts and unpublished posts drop out here
+        List<TrendingItemDTO> items = loader.apply(scores.keySet());
+        for (TrendingItemDTO item : items) {
+            item.setScore(scores.get(item.getId()));
+        }
+        items.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+        return items.size() > size ? new ArrayList<>(items.subList(0, size)) : items;
+    }
+
+    /**
+     * Write every live score to trending_scores, replacing the previous snapshot. Also drops scores
+     * that have decayed to nothing, which keeps the in-memory maps bounded.
+     */
+    @Scheduled(fixedDelayString = "${content.trending.snapshot-interval-ms}")
+    @PreDestroy
+    public void snapshot() {
+        long now = System.currentTimeMillis();
+        Timestamp scoredAt = new Timestamp(now);
+        List<Object[]> rows = new ArrayList<>();
+        synchronized (this) {
+            blogs.rebase(now, MIN_SCORE);
+            stories.rebase(now, MIN_SCORE);
+            for (DecayedTopK.Scored scored : blogs.all(now)) {
+                rows.add(new Object[]{BLOG, scored.getId(), scored.getScore(), scoredAt});
+            }
+            for (DecayedTopK.Scored scored : stories.all(now)) {
+                rows.add(new Object[]{STORY, scored.getId(), scored.getScore(), scoredAt});
+            }
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM trending_scores");
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SCORE, rows);
+            }
+        });
+    }
+
+    private DecayedTopK board(String type) {
+        return BLOG.equals(type) ? blogs : stories;
+    }
+
+    // Edits do not change popularity; only deletions need to leave the rankings
+
+    @Override
+    public void onBlogSaved(Blog blog) {
+    }
+
+    @Override
+    public synchronized void onBlogDeleted(Long blogId) {
+        blogs.remove(blogId);
+    }
+
+    @Override
+    public void onStorySaved(Story story) {
+    }
+
+    @Override
+    public synchronized void onStoryDeleted(Long storyId) {
+        stories.remove(storyId);
+    }
+}
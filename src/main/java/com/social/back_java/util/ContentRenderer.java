@@ -0,0 +1,85 @@
+package com.social.back_java.util;
+
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Entities;
+import org.jsoup.safety.Safelist;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+public class ContentRenderer {
+
+    // Parser and renderer are immutable and safe to share between threads
+    private static final Parser MARKDOWN_PARSER = Parser.builder().build();
+    private static final HtmlRenderer HTML_RENDERER = HtmlRenderer.builder().build();
+
+    private static final Safelist SAFELIST = Safelist.relaxed()
+            .addTags("figure", "figcaption", "hr")
+            .preserveRelativeLinks(true);
+
+    // Only used to resolve relative links while sanitizing; preserveRelativeLinks keeps them relative in the output
+    private static final String SANITIZE_BASE_URI = "http://localhost/";
+
+    private static final Document.OutputSettings OUTPUT_SETTINGS = new Document.OutputSettings().prettyPrint(false);
+
+    /**
+     * Convert markdown to HTML. Inline HTML in the source is passed through, so callers must sanitize.
+     * @param markdown Markdown or HTML text, may be null
+     * @return Unsanitized HTML fragment
+     */
+    public static String markdownToHtml(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        return HTML_RENDERER.render(MARKDOWN_PARSER.parse(markdown));
+    }
+
+    /**
+     * Strip scripts, event handlers and any tag or attribute outside the relaxed safelist
+     * @param html HTML fragment
+     * @return HTML fragment safe to insert into a page
+     */
+    public static String sanitize(String html) {
+        return Jsoup.clean(html, SANITIZE_BASE_URI, SAFELIST, OUTPUT_SETTINGS);
+    }
+
+    /**
+     * Build a figure for an image block; values are escaped and the result still goes through {@link #sanitize}
+     * @param url Image URL
+     * @param alt Alternative text, may be null
+     * @param caption Caption, may be null
+     * @return HTML fragment
+     */
+    public static String figure(String url, String alt, String caption) {
+        StringBuilder html = new StringBuilder("<figure><img src=\"").append(Entities.escape(url)).append('"');
+        if (alt != null) {
+            html.append(" alt=\"").append(Entities.escape(alt)).append('"');
+        }
+        html.append('>');
+        if (caption != null && !caption.isEmpty()) {
+            html.append("<figcaption>").append(Entities.escape(caption)).append("</figcaption>");
+        }
+        return html.append("</figure>").toString();
+    }
+
+    /**
+     * Compress bytes once so they can be served to every client that accepts gzip
+     * @param data Uncompressed bytes
+     * @return Gzip-compressed bytes
+     */
+    public static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            // In-memory streams do not fail
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,72 @@
+package com.social.back_java.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+public class CursorUtil {
+
+    /**
+     * Position of the last row of a page: the value of the sorted column plus the id tie-breaker
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Cursor {
+        private String value;
+        private Long id;
+
+        public Date getCreatedAt() {
+            return new Date(Long.parseLong(value));
+        }
+
+        public double getNumber() {
+            return Double.parseDouble(value);
+        }
+    }
+
+    /**
+     * Encode a keyset position in (createdAt DESC, id DESC) order into an opaque URL-safe cursor
+     * @param createdAt Creation time of the last returned row
+     * @param id Id of the last returned row
+     * @return Opaque cursor string
+     */
+    public static String encode(Date createdAt, Long id) {
+        return encode(createdAt.getTime(), id);
+    }
+
+    /**
+     * Encode a keyset position on a numeric sort column into an opaque URL-safe cursor
+     * @param value Sort column value of the last returned row
+     * @param id Id of the last returned row
+     * @return Opaque cursor string
+     */
+    public static String encode(Number value, Long id) {
+        String raw = value + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode(Number, Long)}
+     * @param cursor Opaque cursor string
+     * @return Decoded keyset position
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String value = raw.substring(0, separator);
+            Double.parseDouble(value);
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new Cursor(value, id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
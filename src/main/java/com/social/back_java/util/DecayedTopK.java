@@ -0,0 +1,169 @@
+package com.social.back_java.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Exponentially decayed scores per id with the top ids kept up to date. Uses forward decay: an event of
+ * weight w at time t adds w * e^(lambda * (t - landmark)), so stored scores only grow and every score
+ * decays by the same factor. Relative order therefore only changes when an id receives an event, which
+ * lets the top set be maintained incrementally as a min-ordered set of the strongest ids.
+ * Not thread-safe.
+ */
+public class DecayedTopK {
+
+    // Past this exponent the landmark is moved forward so stored values stay far from overflow
+    private static final double MAX_EXPONENT = 200.0;
+
+    @Data
+    @AllArgsConstructor
+    public static class Scored {
+        private long id;
+        private double score;
+    }
+
+    private static final class Score {
+        private final long id;
+        private double value;
+
+        private Score(long id) {
+            this.id = id;
+        }
+    }
+
+    // Weakest first; ties broken by id so distinct ids never compare equal
+    private static final Comparator<Score> ORDER = Comparator.<Score>comparingDouble(s -> s.value)
+            .thenComparingLong(s -> s.id);
+
+    private final double lambda;
+    private final int capacity;
+    private long landmark;
+    private LongObjectHashMap<Score> scores = new LongObjectHashMap<>();
+    // Invariant: every id outside this set scores no higher than its weakest member
+    private final TreeSet<Score> top = new TreeSet<>(ORDER);
+
+    /**
+     * @param halfLifeMillis Time for a score to halve
+     * @param capacity Number of top ids to maintain
+     * @param now Current time, used as the first landmark
+     */
+    public DecayedTopK(long halfLifeMillis, int capacity, long now) {
+        if (halfLifeMillis < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Half-life and capacity must be positive");
+        }
+        this.lambda = Math.log(2) / halfLifeMillis;
+        this.capacity = capacity;
+        this.landmark = now;
+    }
+
+    /**
+     * Record an event for an id
+     * @param id Scored id
+     * @param weight Weight of the event at the time it happened, must be positive
+     * @param time Time of the event
+     */
+    public void add(long id, double weight, long time) {
+        if (weight <= 0) {
+            return;
+        }
+        if (lambda * (time - landmark) > MAX_EXPONENT) {
+            rebase(time, 0.0);
+        }
+        Score score = scores.get(id);
+        if (score == null) {
+            score = new Score(id);
+            scores.put(id, score);
+        }
+        // Members are re-inserted since their sort key changes; growing scores only ever move up
+        boolean member = top.remove(score);
+        score.value += weight * Math.exp(lambda * (time - landmark));
+        offer(score, member);
+    }
+
+    /**
+     * Forget an id, promoting the next strongest id into the top set if needed
+     * @param id Id to remove
+     */
+    public void remove(long id) {
+        Score score = scores.remove(id);
+        if (score != null && top.remove(score)) {
+            Score[] best = {null};
+            scores.forEach((key, candidate) -> {
+                if (!top.contains(candidate) && (best[0] == null || ORDER.compare(candidate, best[0]) > 0)) {
+                    best[0] = candidate;
+                }
+            });
+            if (best[0] != null) {
+                top.add(best[0]);
+            }
+        }
+    }
+
+    /**
+     * Strongest ids, strongest first
+     * @param limit Maximum number of ids, at most the capacity; non-positive limits return nothing
+     * @param now Time the returned scores are decayed to
+     * @return Ids with their decayed scores
+     */
+    public List<Scored> top(int limit, long now) {
+        double factor = Math.exp(-lambda * (now - landmark));
+        List<Scored> result = new ArrayList<>(Math.max(0, Math.min(limit, top.size())));
+        Iterator<Score> iterator = top.descendingIterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            Score score = iterator.next();
+            result.add(new Scored(score.id, score.value * factor));
+        }
+        return result;
+    }
+
+    /**
+     * Every id with its decayed score, e.g. for snapshotting
+     * @param now Time the scores are decayed to
+     * @return All tracked ids in unspecified order
+     */
+    public List<Scored> all(long now) {
+        double factor = Math.exp(-lambda * (now - landmark));
+        List<Scored> result = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> result.add(new Scored(id, score.value * factor)));
+        return result;
+    }
+
+    /**
+     * Move the landmark to now, scaling every score down and dropping those that decayed below a floor
+     * @param now New landmark
+     * @param minScore Scores below this, decayed to now, are forgotten
+     */
+    public void rebase(long now, double minScore) {
+        double factor = Math.exp(-lambda * (now - landmark));
+        LongObjectHashMap<Score> kept = new LongObjectHashMap<>(scores.size());
+        scores.forEach((id, score) -> {
+            score.value *= factor;
+            if (score.value >= minScore) {
+                kept.put(id, score);
+            }
+        });
+        scores = kept;
+        landmark = now;
+        top.clear();
+        scores.forEach((id, score) -> offer(score, false));
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    private void offer(Score score, boolean member) {
+        if (member || top.size() < capacity) {
+            top.add(score);
+        } else if (ORDER.compare(score, top.first()) > 0) {
+            top.pollFirst();
+            top.add(score);
+        }
+    }
+}
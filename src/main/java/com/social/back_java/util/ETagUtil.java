@@ -0,0 +1,95 @@
+package com.social.back_java.util;
+
+import com.social.back_java.dto.common.CollectionVersionDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Date;
+
+public class ETagUtil {
+
+    /**
+     * Strong ETag for a single entity version
+     * @param type Entity type, keeps ids of different tables apart
+     * @param id Entity id
+     * @param updatedAt Last modification time of the entity
+     * @return Quoted ETag value
+     */
+    public static String forEntity(String type, Long id, Date updatedAt) {
+        long version = updatedAt != null ? updatedAt.getTime() : 0L;
+        return "\"" + type + "-" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Weak ETag for an entity whose body carries counters, such as blog views, that change without moving
+     * updatedAt. It validates the content only, so a revalidated copy may show older counter values.
+     * @param type Entity type, keeps ids of different tables apart
+     * @param id Entity id
+     * @param updatedAt Last modification time of the entity's content
+     * @return Weak ETag value
+     */
+    public static String forCountedEntity(String type, Long id, Date updatedAt) {
+        return "W/" + forEntity(type, id, updatedAt);
+    }
+
+    /**
+     * Weak ETag for a list endpoint. Any insert or delete changes the count and any update moves the
+     * latest modification time, so the pair changes whenever the list content may have changed.
+     * @param scope Name of the list, including its filters
+     * @param version Row count and latest modification time of the rows behind the list
+     * @return Weak ETag value
+     */
+    public static String forCollection(String scope, CollectionVersionDTO version) {
+        long lastUpdated = version.getLastUpdated() != null ? version.getLastUpdated().getTime() : 0L;
+        return "W/\"" + headerSafe(scope) + "-" + version.getCount() + "-" + lastUpdated + "\"";
+    }
+
+    /**
+     * Strong ETag for a generated document such as a sitemap or feed
+     * @param name Document name
+     * @param digest Hash of the document bytes
+     * @return Quoted ETag value
+     */
+    public static String forDocument(String name, String digest) {
+        return "\"" + headerSafe(name) + "-" + digest + "\"";
+    }
+
+    /**
+     * Check an If-None-Match header against the current ETag using weak comparison
+     * @param ifNoneMatch Header value, may be null
+     * @param etag Current ETag
+     * @return true if the client copy is still current
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String current = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || opaque(trimmed).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    // Scopes can carry user input such as Vietnamese category names, which are not valid in a header
+    private static String headerSafe(String scope) {
+        for (int i = 0; i < scope.length(); i++) {
+            char c = scope.charAt(i);
+            if (!(c < 128 && (Character.isLetterOrDigit(c) || c == '-' || c == '_'))) {
+                return "h" + Integer.toHexString(scope.hashCode());
+            }
+        }
+        return scope;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
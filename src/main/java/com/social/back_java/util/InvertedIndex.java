@@ -0,0 +1,217 @@
+package com.social.back_java.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted index over folded tokens. Terms are kept sorted so the last query token can be
+ * expanded as a prefix; every query token must match (AND semantics) and hits are ranked by the sum
+ * of field weight times inverse document frequency.
+ */
+public class InvertedIndex<K> {
+
+    private static final float PREFIX_MATCH_FACTOR = 0.6f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    @Data
+    @AllArgsConstructor
+    public static class Hit<K> {
+        private K key;
+        private double score;
+    }
+
+    /**
+     * One page of hits plus the number of documents that matched overall
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Result<K> {
+        private List<Hit<K>> hits;
+        private int total;
+    }
+
+    private final NavigableMap<String, Map<K, Float>> postings = new TreeMap<>();
+    private final Map<K, Map<String, Float>> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Tokenize text and add its tokens to a term weight map
+     * @param termWeights Accumulated weights for one document
+     * @param text Field text, may be null
+     * @param fieldWeight Weight of each occurrence in this field
+     */
+    public static void addText(Map<String, Float> termWeights, String text, float fieldWeight) {
+        for (String token : TextNormalizer.tokenize(text)) {
+            termWeights.merge(token, fieldWeight, Float::sum);
+        }
+    }
+
+    /**
+     * Index a document, replacing any previous version of it
+     * @param key Document key
+     * @param termWeights Folded term to weight, usually built with {@link #addText}
+     */
+    public void put(K key, Map<String, Float> termWeights) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+            Map<String, Float> terms = new HashMap<>(termWeights);
+            documents.put(key, terms);
+            for (Map.Entry<String, Float> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(key, term.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find documents matching every token of the query
+     * @param query Raw user query
+     * @param limit Maximum number of hits
+     * @return Hits ordered by descending score
+     */
+    public List<Hit<K>> search(String query, int limit) {
+        return search(query, null, 0, limit).getHits();
+    }
+
+    /**
+     * Find documents matching every token of the query, one page at a time
+     * @param query Raw user query
+     * @param filter Keys to keep, or null to keep every match
+     * @param offset Number of leading hits to skip
+     * @param limit Maximum number of hits
+     * @return Hits ordered by descending score, with the total number of matches
+     */
+    public Result<K> search(String query, Predicate<K> filter, int offset, int limit) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty() || limit < 1) {
+            return new Result<>(Collections.emptyList(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<K, Double> scores = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean lastToken = i == tokens.size() - 1;
+                Map<K, Double> tokenScores = scoreToken(tokens.get(i), lastToken);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<K, Double> intersection = new HashMap<>();
+                    for (Map.Entry<K, Double> entry : scores.entrySet()) {
+                        Double tokenScore = tokenScores.get(entry.getKey());
+                        if (tokenScore != null) {
+                            intersection.put(entry.getKey(), entry.getValue() + tokenScore);
+                        }
+                    }
+                    scores = intersection;
+                }
+                if (scores.isEmpty()) {
+                    return new Result<>(Collections.emptyList(), 0);
+                }
+            }
+
+            List<Hit<K>> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<K, Double> entry : scores.entrySet()) {
+                if (filter == null || filter.test(entry.getKey())) {
+                    hits.add(new Hit<>(entry.getKey(), entry.getValue()));
+                }
+            }
+            hits.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+            int from = Math.min(Math.max(offset, 0), hits.size());
+            int to = (int) Math.min((long) from + limit, hits.size());
+            return new Result<>(new ArrayList<>(hits.subList(from, to)), hits.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best score per document for one query token; the token being typed also matches as a prefix
+    private Map<K, Double> scoreToken(String token, boolean allowPrefix) {
+        Map<K, Double> scores = new HashMap<>();
+        int documentCount = Math.max(documents.size(), 1);
+
+        Map<K, Float> exact = postings.get(token);
+        if (exact != null) {
+            accumulate(scores, exact, idf(documentCount, exact.size()));
+        }
+
+        if (allowPrefix) {
+            int expansions = 0;
+            for (Map.Entry<String, Map<K, Float>> term : postings.tailMap(token, false).entrySet()) {
+                if (!term.getKey().startsWith(token) || expansions++ >= MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                double factor = PREFIX_MATCH_FACTOR * token.length() / term.getKey().length();
+                accumulate(scores, term.getValue(), idf(documentCount, term.getValue().size()) * factor);
+            }
+        }
+        return scores;
+    }
+
+    private void accumulate(Map<K, Double> scores, Map<K, Float> posting, double multiplier) {
+        for (Map.Entry<K, Float> entry : posting.entrySet()) {
+            double score = entry.getValue() * multiplier;
+            scores.merge(entry.getKey(), score, Math::max);
+        }
+    }
+
+    private double idf(int documentCount, int documentFrequency) {
+        return Math.log(1.0 + (double) documentCount / documentFrequency);
+    }
+
+    private void removeInternal(K key) {
+        Map<String, Float> terms = documents.remove(key);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<K, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(key);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
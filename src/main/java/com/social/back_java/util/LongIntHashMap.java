@@ -0,0 +1,175 @@
+package com.social.back_java.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from long to int, for counters keyed by entity id without boxing every
+ * key and value. Absent keys read as zero. Not thread-safe.
+ */
+public class LongIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Receives one entry at a time from {@link #forEach}
+     */
+    public interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int resizeAt;
+
+    public LongIntHashMap() {
+        this(8);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Value stored for a key
+     * @param key Key to look up
+     * @return Stored value, or 0 when the key is absent
+     */
+    public int get(long key) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : 0;
+    }
+
+    /**
+     * Add to the value of a key, inserting it at zero first when absent
+     * @param key Key to update
+     * @param delta Amount to add
+     * @return New value
+     */
+    public int addTo(long key, int delta) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                values[slot] += delta;
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        used[slot] = true;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return delta;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visit every entry in unspecified order
+     * @param consumer Receives each key and value
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Keys with the highest positive values, highest first and lower key first on ties
+     * @param k Maximum number of keys
+     * @return Up to k keys, none when k is not positive
+     */
+    public long[] topKeys(int k) {
+        if (k <= 0) {
+            return new long[0];
+        }
+        long[] top = new long[k];
+        int[] topValues = new int[k];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (!used[i] || values[i] <= 0) {
+                continue;
+            }
+            long key = keys[i];
+            int value = values[i];
+            if (n == k && !ranksBefore(value, key, topValues[n - 1], top[n - 1])) {
+                continue;
+            }
+            // Insertion into a short sorted array beats a heap for the small k used here
+            int pos = n < k ? n++ : k - 1;
+            while (pos > 0 && ranksBefore(value, key, topValues[pos - 1], top[pos - 1])) {
+                top[pos] = top[pos - 1];
+                topValues[pos] = topValues[pos - 1];
+                pos--;
+            }
+            top[pos] = key;
+            topValues[pos] = value;
+        }
+        return n == k ? top : Arrays.copyOf(top, n);
+    }
+
+    private static boolean ranksBefore(int value, long key, int otherValue, long otherKey) {
+        return value > otherValue || (value == otherValue && key < otherKey);
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (!oldUsed[i]) {
+                continue;
+            }
+            int slot = mix(oldKeys[i]) & mask;
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+            used[slot] = true;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    static int capacityFor(int expectedSize) {
+        int capacity = 8;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // Sequential ids would cluster under linear probing without scrambling the bits first
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,150 @@
+package com.social.back_java.util;
+
+/**
+ * Open-addressing map from long to object, so per-entity tables do not box a Long for every key.
+ * Null values are not supported. Not thread-safe.
+ */
+public class LongObjectHashMap<V> {
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Receives one entry at a time from {@link #forEach}
+     */
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int resizeAt;
+
+    public LongObjectHashMap() {
+        this(8);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(LongIntHashMap.capacityFor(expectedSize));
+    }
+
+    /**
+     * Value stored for a key
+     * @param key Key to look up
+     * @return Stored value, or null when the key is absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int mask = keys.length - 1;
+        int slot = LongIntHashMap.mix(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Store a value, replacing any previous one
+     * @param key Key to store under
+     * @param value Value, must not be null
+     */
+    public void put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int mask = keys.length - 1;
+        int slot = LongIntHashMap.mix(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Remove a key, shifting later entries of its probe run back so lookups never need tombstones
+     * @param key Key to remove
+     * @return Removed value, or null when the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int mask = keys.length - 1;
+        int slot = LongIntHashMap.mix(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V removed = (V) values[slot];
+                int gap = slot;
+                int next = slot;
+                while (true) {
+                    next = (next + 1) & mask;
+                    if (values[next] == null) {
+                        break;
+                    }
+                    // Move the entry into the gap unless its home slot lies after the gap in probe order
+                    int home = LongIntHashMap.mix(keys[next]) & mask;
+                    if (((next - home) & mask) >= ((next - gap) & mask)) {
+                        keys[gap] = keys[next];
+                        values[gap] = values[next];
+                        gap = next;
+                    }
+                }
+                values[gap] = null;
+                size--;
+                return removed;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Visit every entry in unspecified order
+     * @param consumer Receives each key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<V> consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            int slot = LongIntHashMap.mix(oldKeys[i]) & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
@@ -0,0 +1,173 @@
+package com.social.back_java.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Small in-process cache bounded both by entry count (least recently used entries are evicted first)
+ * and by time-to-live. Loaders run outside the lock so a slow database call never blocks other readers;
+ * a load that overlaps an invalidation is returned but not cached, so it cannot restore a stale value.
+ */
+public class LruTtlCache<K, V> {
+
+    @Data
+    @AllArgsConstructor
+    public static class Stats {
+        private String name;
+        private int size;
+        private int maxSize;
+        private long ttlMillis;
+        private long hits;
+        private long misses;
+        private long evictions;
+        private long expirations;
+        private double hitRate;
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    // Bumped by every invalidation, guarded by the entries lock
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public LruTtlCache(String name, int maxSize, long ttlMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruTtlCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a cached value
+     * @param key Cache key
+     * @return Cached value, or null when absent or expired
+     */
+    public V get(K key) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.increment();
+                    return entry.value;
+                }
+                entries.remove(key);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Get a cached value, loading and caching it on a miss. Null results are not cached.
+     * @param key Cache key
+     * @param loader Function computing the value for a missing key
+     * @return Cached or freshly loaded value
+     */
+    public V getOrLoad(K key, Function<K, V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        long loadGeneration;
+        synchronized (entries) {
+            loadGeneration = generation;
+        }
+        value = loader.apply(key);
+        if (value != null) {
+            long expiresAt = System.currentTimeMillis() + ttlMillis;
+            synchronized (entries) {
+                if (generation == loadGeneration) {
+                    entries.put(key, new Entry<>(value, expiresAt));
+                }
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, expiresAt));
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    /**
+     * Drop expired entries so they stop holding memory even when never read again
+     */
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Iterator<Entry<V>> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().expiresAt <= now) {
+                    iterator.remove();
+                    expirations.increment();
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public Stats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return new Stats(name, size(), maxSize, ttlMillis, hitCount, missCount,
+                evictions.sum(), expirations.sum(), total == 0 ? 0.0 : (double) hitCount / total);
+    }
+}
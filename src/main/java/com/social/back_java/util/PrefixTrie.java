@@ -0,0 +1,159 @@
+package com.social.back_java.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie for autocomplete. Every node caches the best K ids of its subtree, so a lookup costs
+ * O(prefix length) regardless of how many keys share the prefix. A write only recomputes the nodes
+ * on the paths of the keys it touches, each from its own terminal ids plus its children's caches.
+ */
+public class PrefixTrie {
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private Set<Long> terminalIds;
+        private long[] top = new long[0];
+    }
+
+    private final int topK;
+    private final Node root = new Node();
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final Map<Long, Set<String>> keysById = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public PrefixTrie(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * Insert or replace all keys of an id
+     * @param id Item id
+     * @param keys Folded keys the item should be found under
+     * @param score Ranking score, higher first
+     */
+    public void put(long id, Set<String> keys, double score) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            scores.put(id, score);
+            Set<String> stored = new LinkedHashSet<>(keys);
+            keysById.put(id, stored);
+            for (String key : stored) {
+                insert(root, key, 0, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best ids whose keys start with the prefix
+     * @param prefix Folded prefix
+     * @param limit Maximum number of ids, at most the trie's K; non-positive limits return nothing
+     * @return Ids ordered by descending score
+     */
+    public List<Long> lookup(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            int count = Math.max(0, Math.min(limit, node.top.length));
+            List<Long> ids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ids.add(node.top[i]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(Node node, String key, int depth, long id) {
+        if (depth == key.length()) {
+            if (node.terminalIds == null) {
+                node.terminalIds = new HashSet<>(2);
+            }
+            node.terminalIds.add(id);
+        } else {
+            Node child = node.children.computeIfAbsent(key.charAt(depth), c -> new Node());
+            insert(child, key, depth + 1, id);
+        }
+        recompute(node);
+    }
+
+    // Returns true when the node no longer holds anything and can be unlinked from its parent
+    private boolean delete(Node node, String key, int depth, long id) {
+        if (depth == key.length()) {
+            if (node.terminalIds != null) {
+                node.terminalIds.remove(id);
+                if (node.terminalIds.isEmpty()) {
+                    node.terminalIds = null;
+                }
+            }
+        } else {
+            char c = key.charAt(depth);
+            Node child = node.children.get(c);
+            if (child != null && delete(child, key, depth + 1, id)) {
+                node.children.remove(c);
+            }
+        }
+        recompute(node);
+        return node.terminalIds == null && node.children.isEmpty();
+    }
+
+    private void removeInternal(long id) {
+        Set<String> keys = keysById.remove(id);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            delete(root, key, 0, id);
+        }
+        scores.remove(id);
+    }
+
+    private void recompute(Node node) {
+        Set<Long> candidates = new HashSet<>();
+        if (node.terminalIds != null) {
+            candidates.addAll(node.terminalIds);
+        }
+        for (Node child : node.children.values()) {
+            for (long childId : child.top) {
+                candidates.add(childId);
+            }
+        }
+        List<Long> ranked = new ArrayList<>(candidates);
+        ranked.sort((a, b) -> {
+            int byScore = Double.compare(scores.getOrDefault(b, 0.0), scores.getOrDefault(a, 0.0));
+            return byScore != 0 ? byScore : Long.compare(a, b);
+        });
+        int size = Math.min(topK, ranked.size());
+        long[] top = new long[size];
+        for (int i = 0; i < size; i++) {
+            top[i] = ranked.get(i);
+        }
+        node.top = top;
+    }
+}
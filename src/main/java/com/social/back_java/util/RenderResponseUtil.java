@@ -0,0 +1,56 @@
+package com.social.back_java.util;
+
+import com.social.back_java.dto.common.RenderedContentDTO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+public class RenderResponseUtil {
+
+    private static final MediaType HTML_UTF8 = MediaType.parseMediaType("text/html;charset=UTF-8");
+
+    /**
+     * Serve a rendered body, answering revalidations with 304 and sending the precompressed bytes
+     * to clients that accept gzip
+     * @param type Content type used in the ETag, e.g. "blog-render"
+     * @param content Rendered body
+     * @param ifNoneMatch If-None-Match header, may be null
+     * @param acceptEncoding Accept-Encoding header, may be null
+     * @return Response with the HTML fragment as body
+     */
+    public static ResponseEntity<byte[]> toResponse(String type, RenderedContentDTO content,
+                                                    String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        // The two encodings are different byte sequences, so each gets its own strong ETag
+        String etag = ETagUtil.forEntity(gzip ? type + "-gz" : type, content.getId(), content.getUpdatedAt());
+        if (ETagUtil.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(HTML_UTF8)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(content.getGzip());
+        }
+        return response.body(content.getHtml());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // "gzip;q=0" explicitly refuses it
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
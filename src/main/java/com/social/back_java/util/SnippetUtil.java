@@ -0,0 +1,125 @@
+package com.social.back_java.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class SnippetUtil {
+
+    private static final Pattern TAGS = Pattern.compile("<[^>]*>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Reduce rich text to plain text for indexing and snippets
+     * @param markup HTML or plain text, may be null
+     * @param maxLength Maximum length of the result
+     * @return Text without tags and with collapsed whitespace
+     */
+    public static String plainText(String markup, int maxLength) {
+        if (markup == null || markup.isEmpty()) {
+            return "";
+        }
+        String text = TAGS.matcher(markup).replaceAll(" ").replace("&nbsp;", " ");
+        text = WHITESPACE.matcher(text).replaceAll(" ").trim();
+        return text.length() > maxLength ? text.substring(0, maxLength) : text;
+    }
+
+    /**
+     * Cut a window of text around the first query match and wrap every matched word in
+     * {@code <mark>}. Matching is accent and case insensitive, like the search index.
+     * @param text Plain text to cut from
+     * @param tokens Folded query tokens, matched as word prefixes
+     * @param maxLength Approximate maximum length of the window
+     * @return HTML-escaped snippet
+     */
+    public static String highlight(String text, List<String> tokens, int maxLength) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        // Fold one character at a time so every folded position maps back to the original text
+        StringBuilder buffer = new StringBuilder(text.length());
+        int[] origins = new int[text.length() + 16];
+        for (int i = 0; i < text.length(); i++) {
+            String f = TextNormalizer.fold(String.valueOf(text.charAt(i)));
+            for (int j = 0; j < f.length(); j++) {
+                if (buffer.length() == origins.length) {
+                    origins = Arrays.copyOf(origins, origins.length * 2);
+                }
+                origins[buffer.length()] = i;
+                buffer.append(f.charAt(j));
+            }
+        }
+        String folded = buffer.toString();
+
+        // Matched words as [start, end) ranges of the original text
+        List<int[]> spans = new ArrayList<>();
+        for (int i = 0; i < folded.length(); i++) {
+            boolean wordStart = Character.isLetterOrDigit(folded.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(folded.charAt(i - 1)));
+            if (!wordStart) {
+                continue;
+            }
+            for (String token : tokens) {
+                if (!token.isEmpty() && folded.startsWith(token, i)) {
+                    int end = i + token.length();
+                    while (end < folded.length() && Character.isLetterOrDigit(folded.charAt(end))) {
+                        end++;
+                    }
+                    spans.add(new int[]{origins[i], origins[end - 1] + 1});
+                    break;
+                }
+            }
+        }
+
+        int start = 0;
+        if (!spans.isEmpty() && spans.get(0)[0] > maxLength / 4) {
+            // Leave some leading context, starting on a word boundary
+            start = text.indexOf(' ', spans.get(0)[0] - maxLength / 4);
+            start = start < 0 || start >= spans.get(0)[0] ? spans.get(0)[0] : start + 1;
+        }
+        int end = Math.min(text.length(), start + maxLength);
+        if (end < text.length()) {
+            int space = text.lastIndexOf(' ', end);
+            if (space > start) {
+                end = space;
+            }
+        }
+
+        StringBuilder snippet = new StringBuilder(end - start + 32);
+        if (start > 0) {
+            snippet.append("… ");
+        }
+        int position = start;
+        for (int[] span : spans) {
+            if (span[0] < position || span[1] > end) {
+                continue;
+            }
+            escape(snippet, text, position, span[0]);
+            snippet.append("<mark>");
+            escape(snippet, text, span[0], span[1]);
+            snippet.append("</mark>");
+            position = span[1];
+        }
+        escape(snippet, text, position, end);
+        if (end < text.length()) {
+            snippet.append(" …");
+        }
+        return snippet.toString();
+    }
+
+    private static void escape(StringBuilder out, String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.social.back_java.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public class TextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    /**
+     * Lower-case and strip diacritics so "Gỗ Đỏ" and "go do" compare equal
+     * @param text Raw text, may be null
+     * @return Folded text, empty string for null input
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        // đ/Đ is a distinct letter rather than d plus a combining mark, so NFD does not split it
+        String replaced = text.replace('đ', 'd').replace('Đ', 'D');
+        String decomposed = Normalizer.normalize(replaced, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Fold text and split it into alphanumeric tokens
+     * @param text Raw text, may be null
+     * @return Tokens in order of appearance
+     */
+    public static List<String> tokenize(String text) {
+        String folded = fold(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < folded.length(); i++) {
+            if (Character.isLetterOrDigit(folded.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(folded.substring(start));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,81 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.blog.BlogLikeStatusDTO;
+import com.social.back_java.model.Blog;
+import com.social.back_java.model.User;
+import com.social.back_java.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Blog ETags are built from updatedAt, so every like state change has to move it
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BlogLikeVersionTests {
+
+    @Autowired
+    private IBlogService blogService;
+
+    @Autowired
+    private IStoryService storyService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private ContentFixtures fixtures;
+    private User reader;
+    private Blog blog;
+
+    @BeforeEach
+    void createBlog() {
+        fixtures = new ContentFixtures(blogService, storyService, userRepository);
+        reader = fixtures.user("Like Tester");
+        blog = fixtures.createBlog(fixtures.blog(reader, "Au Co"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.cleanUp();
+    }
+
+    @Test
+    void likeAndUnlikeMoveTheBlogVersion() throws InterruptedException {
+        Date created = version();
+
+        Thread.sleep(5);
+        BlogLikeStatusDTO liked = blogService.likeBlog(blog.getId(), reader.getId());
+        assertTrue(liked.isLiked());
+        assertEquals(1, liked.getLikeCount());
+        Date afterLike = version();
+        assertNotEquals(created, afterLike);
+
+        Thread.sleep(5);
+        BlogLikeStatusDTO unliked = blogService.unlikeBlog(blog.getId(), reader.getId());
+        assertFalse(unliked.isLiked());
+        assertEquals(0, unliked.getLikeCount());
+        assertNotEquals(afterLike, version());
+    }
+
+    @Test
+    void unlikeWithoutLikeKeepsTheVersion() {
+        Date created = version();
+        blogService.unlikeBlog(blog.getId(), reader.getId());
+        assertEquals(created, version());
+    }
+
+    private Date version() {
+        return blogService.getBlogVersion(blog.getId()).orElseThrow().getUpdatedAt();
+    }
+}
@@ -0,0 +1,92 @@
+package com.social.back_java.service;
+
+import com.social.back_java.model.Blog;
+import com.social.back_java.model.Story;
+import com.social.back_java.model.User;
+import com.social.back_java.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Users, blogs and stories written through the services, for tests whose change listeners need a real
+ * commit and so cannot roll back. Everything created here is removed again by {@link #cleanUp()}.
+ */
+public class ContentFixtures {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final IBlogService blogService;
+    private final IStoryService storyService;
+    private final UserRepository userRepository;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> blogIds = new ArrayList<>();
+    private final List<Long> storyIds = new ArrayList<>();
+
+    public ContentFixtures(IBlogService blogService, IStoryService storyService, UserRepository userRepository) {
+        this.blogService = blogService;
+        this.storyService = storyService;
+        this.userRepository = userRepository;
+    }
+
+    // Slugs and emails are unique, so tests sharing the context never collide
+    public static String unique(String prefix) {
+        return prefix + "-" + SEQUENCE.incrementAndGet();
+    }
+
+    public User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(unique("tester") + "@example.com");
+        user.setPassword("Secret@123");
+        User saved = userRepository.save(user);
+        userIds.add(saved.getId());
+        return saved;
+    }
+
+    /**
+     * Unsaved blog with a unique slug
+     * @param author Author of the blog
+     * @param title Title, also the start of the slug
+     * @param tags Tags of the blog
+     * @return Blog to pass to {@link #createBlog(Blog)} or to an update
+     */
+    public Blog blog(User author, String title, String... tags) {
+        Blog blog = new Blog();
+        blog.setTitle(title);
+        blog.setSlug(unique(title.toLowerCase().replace(' ', '-')));
+        blog.setContent("Once upon a time");
+        blog.setCategory("myth");
+        blog.setAuthor(author);
+        blog.setTags(new ArrayList<>(List.of(tags)));
+        return blog;
+    }
+
+    public Blog createBlog(Blog blog) {
+        Blog created = blogService.createBlog(blog);
+        blogIds.add(created.getId());
+        return created;
+    }
+
+    public void deleteBlog(Long blogId) {
+        blogService.deleteBlog(blogId);
+        blogIds.remove(blogId);
+    }
+
+    public Story createStory(Story story) {
+        Story created = storyService.createStory(story);
+        storyIds.add(created.getId());
+        return created;
+    }
+
+    public void cleanUp() {
+        blogIds.forEach(blogService::deleteBlog);
+        storyIds.forEach(storyService::deleteStory);
+        userIds.forEach(userRepository::deleteById);
+        blogIds.clear();
+        storyIds.clear();
+        userIds.clear();
+    }
+}
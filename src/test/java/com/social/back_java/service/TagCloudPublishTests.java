@@ -0,0 +1,115 @@
+package com.social.back_java.service;
+
+import com.social.back_java.dto.common.TagCountDTO;
+import com.social.back_java.model.Blog;
+import com.social.back_java.model.Story;
+import com.social.back_java.model.StoryBlock;
+import com.social.back_java.model.User;
+import com.social.back_java.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Writes through the services and reads the tag cloud, so change listeners run after a real commit
+ * with the lazy tag and block collections they walk
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TagCloudPublishTests {
+
+    @Autowired
+    private IBlogService blogService;
+
+    @Autowired
+    private IStoryService storyService;
+
+    @Autowired
+    private ITagService tagService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private ContentFixtures fixtures;
+    private User author;
+
+    @BeforeEach
+    void createAuthor() {
+        fixtures = new ContentFixtures(blogService, storyService, userRepository);
+        author = fixtures.user("Tag Tester");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.cleanUp();
+    }
+
+    @Test
+    void publishingBlogCountsItsTags() {
+        Blog draft = fixtures.createBlog(fixtures.blog(author, "Dragon King", "legend", "legend"));
+        assertEquals(0, blogCount("legend"));
+
+        blogService.publishBlog(draft.getId());
+        // Duplicate tags on one blog count once
+        assertEquals(1, blogCount("legend"));
+
+        fixtures.deleteBlog(draft.getId());
+        assertEquals(0, blogCount("legend"));
+    }
+
+    @Test
+    void updatingPublishedBlogMovesItsTags() {
+        Blog draft = fixtures.createBlog(fixtures.blog(author, "Lac Long Quan", "origin"));
+        blogService.publishBlog(draft.getId());
+        assertEquals(1, blogCount("origin"));
+
+        Blog edited = blogService.getBlogById(draft.getId()).orElseThrow();
+        Blog update = fixtures.blog(author, "Lac Long Quan", "dragon");
+        update.setStatus("published");
+        update.setPublishedAt(edited.getPublishedAt());
+        blogService.updateBlog(draft.getId(), update);
+
+        assertEquals(0, blogCount("origin"));
+        assertEquals(1, blogCount("dragon"));
+    }
+
+    @Test
+    void publishingStoryCountsItsTags() {
+        Story story = new Story();
+        story.setTitle("Son Tinh Thuy Tinh");
+        story.setSlug(ContentFixtures.unique("son-tinh-thuy-tinh"));
+        story.setTags(new ArrayList<>(List.of("flood")));
+        StoryBlock block = new StoryBlock();
+        block.setType("text");
+        block.setContent("The mountain god and the water god");
+        story.setBlocks(new ArrayList<>(List.of(block)));
+
+        Story draft = fixtures.createStory(story);
+        assertEquals(0, storyCount("flood"));
+
+        storyService.publishStory(draft.getId());
+        assertEquals(1, storyCount("flood"));
+    }
+
+    private int blogCount(String tag) {
+        return tagService.getTagCloud("blog", 100).stream()
+                .filter(count -> count.getTag().equals(tag))
+                .mapToInt(TagCountDTO::getBlogCount)
+                .sum();
+    }
+
+    private int storyCount(String tag) {
+        return tagService.getTagCloud("story", 100).stream()
+                .filter(count -> count.getTag().equals(tag))
+                .mapToInt(TagCountDTO::getStoryCount)
+                .sum();
+    }
+}
@@ -0,0 +1,70 @@
+package com.social.back_java.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BlogViewCounterTests {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private BlogViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new BlogViewCounter();
+        ReflectionTestUtils.setField(counter, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @Test
+    void pendingViewsLeaveBeforeTheDatabaseHoldsThem() {
+        counter.increment(7L);
+        counter.increment(7L);
+        counter.increment(7L);
+        assertEquals(3L, counter.pending(7L));
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            // Readers adding pending views to the flushed row must not count these again
+            assertEquals(0L, counter.pending(7L));
+            List<Object[]> args = invocation.getArgument(1);
+            assertArrayEquals(new Object[]{3L, 7L}, args.get(0));
+            return new int[]{1};
+        });
+        counter.flush();
+
+        assertEquals(0L, counter.pending(7L));
+        counter.increment(7L);
+        assertEquals(1L, counter.pending(7L));
+    }
+
+    @Test
+    void failedFlushKeepsTheViewsPending() {
+        counter.increment(7L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThrows(DataAccessResourceFailureException.class, counter::flush);
+        assertEquals(1L, counter.pending(7L));
+    }
+
+    @Test
+    void nothingPendingWritesNothing() {
+        counter.flush();
+
+        assertEquals(0L, counter.pending(7L));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
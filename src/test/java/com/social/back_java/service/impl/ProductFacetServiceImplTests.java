@@ -0,0 +1,93 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.product.ProductFacetResultDTO;
+import com.social.back_java.dto.product.ProductSummaryDTO;
+import com.social.back_java.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductFacetServiceImplTests {
+
+    private ProductFacetServiceImpl facets;
+
+    @BeforeEach
+    void setUp() {
+        facets = new ProductFacetServiceImpl();
+        ReflectionTestUtils.setField(facets, "priceBandBounds", new double[]{100, 500});
+        facets.init();
+        facets.onProductSaved(product(1L, "ring", 50, 3, 1000));
+        facets.onProductSaved(product(2L, "ring", 200, 0, 2000));
+        facets.onProductSaved(product(3L, "scarf", 200, 5, 3000));
+        facets.onProductSaved(product(4L, "scarf", 900, 1, 4000));
+        facets.onProductSaved(product(5L, null, 80, 0, 5000));
+    }
+
+    @Test
+    void countsEachFacetAgainstTheOtherFilters() {
+        ProductFacetResultDTO result = facets.filter(List.of("scarf"), null, true, 0, 10);
+
+        assertEquals(List.of(4L, 3L), ids(result));
+        assertEquals(2, result.getTotal());
+        // Categories ignore the category filter but keep the stock filter
+        assertEquals(Map.of("ring", 1, "scarf", 2), result.getCategoryCounts());
+        assertEquals(0, result.getPriceBandCounts().get("0-100"));
+        assertEquals(1, result.getPriceBandCounts().get("100-500"));
+        assertEquals(1, result.getPriceBandCounts().get("500+"));
+        assertEquals(2, result.getAvailabilityCounts().get("inStock"));
+        assertEquals(0, result.getAvailabilityCounts().get("outOfStock"));
+    }
+
+    @Test
+    void unionsValuesWithinAFacet() {
+        ProductFacetResultDTO result = facets.filter(List.of("ring", "", "missing"), List.of("0-100", "100-500"), null, 0, 10);
+
+        assertEquals(List.of(5L, 2L, 1L), ids(result));
+        assertEquals(1, result.getCategoryCounts().get("scarf"));
+    }
+
+    @Test
+    void followsProductUpdatesAndDeletes() {
+        facets.onProductSaved(product(1L, "scarf", 50, 0, 1000));
+        facets.onProductDeleted(4L);
+
+        ProductFacetResultDTO result = facets.filter(List.of("scarf"), null, null, 0, 10);
+
+        assertEquals(List.of(3L, 1L), ids(result));
+        assertTrue(facets.filter(List.of("ring"), null, true, 0, 10).getItems().isEmpty());
+    }
+
+    @Test
+    void pagesPastTheEndWithoutOverflowing() {
+        ProductFacetResultDTO filtered = facets.filter(List.of("ring"), null, null, Integer.MAX_VALUE, 100);
+        ProductFacetResultDTO unfiltered = facets.filter(null, null, null, Integer.MAX_VALUE, 100);
+
+        assertTrue(filtered.getItems().isEmpty());
+        assertEquals(2, filtered.getTotal());
+        assertTrue(unfiltered.getItems().isEmpty());
+        assertEquals(5, unfiltered.getTotal());
+        assertEquals(List.of(3L, 2L), ids(facets.filter(null, null, null, 1, 2)));
+    }
+
+    private static List<Long> ids(ProductFacetResultDTO result) {
+        return result.getItems().stream().map(ProductSummaryDTO::getId).toList();
+    }
+
+    private static Product product(Long id, String category, double price, int stock, long createdAt) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("product-" + id);
+        product.setCategory(category);
+        product.setPrice(price);
+        product.setStock(stock);
+        product.setCreatedAt(new Date(createdAt));
+        return product;
+    }
+}
@@ -0,0 +1,92 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.product.ProductBulkUpdateItem;
+import com.social.back_java.model.Product;
+import com.social.back_java.repository.ProductRepository;
+import com.social.back_java.service.IProductInventoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the bulk UPDATE for real, since effective_price has to come out right on every database
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductInventoryServiceImplTests {
+
+    @Autowired
+    private IProductInventoryService inventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long productId;
+
+    @BeforeEach
+    void createProduct() {
+        Product product = new Product();
+        product.setName("Mat na tuong");
+        product.setPrice(100.0);
+        product.setPricegiamgia(80.0);
+        product.setStock(5);
+        productId = productRepository.save(product).getId();
+    }
+
+    @AfterEach
+    void deleteProduct() {
+        productRepository.deleteById(productId);
+    }
+
+    @Test
+    void effectivePriceFollowsTheNewPrices() {
+        inventoryService.bulkUpdate(List.of(item(90.0, null, false)));
+        assertPrices(90.0, 80.0, 80.0);
+
+        inventoryService.bulkUpdate(List.of(item(null, 70.0, false)));
+        assertPrices(90.0, 70.0, 70.0);
+
+        inventoryService.bulkUpdate(List.of(item(120.0, 75.0, false)));
+        assertPrices(120.0, 75.0, 75.0);
+
+        inventoryService.bulkUpdate(List.of(item(null, null, true)));
+        assertPrices(120.0, null, 120.0);
+    }
+
+    @Test
+    void rejectsADiscountAboveThePrice() {
+        assertThrows(IllegalArgumentException.class,
+                () -> inventoryService.bulkUpdate(List.of(item(50.0, 60.0, false))));
+        // Only one side is in the request, so the check runs on the written row and rolls back
+        assertThrows(IllegalArgumentException.class,
+                () -> inventoryService.bulkUpdate(List.of(item(null, 150.0, false))));
+        assertThrows(IllegalArgumentException.class,
+                () -> inventoryService.bulkUpdate(List.of(item(60.0, null, false))));
+
+        assertPrices(100.0, 80.0, 80.0);
+    }
+
+    private ProductBulkUpdateItem item(Double price, Double pricegiamgia, boolean clearPricegiamgia) {
+        ProductBulkUpdateItem item = new ProductBulkUpdateItem();
+        item.setId(productId);
+        item.setPrice(price);
+        item.setPricegiamgia(pricegiamgia);
+        item.setClearPricegiamgia(clearPricegiamgia);
+        return item;
+    }
+
+    private void assertPrices(Double price, Double pricegiamgia, Double effectivePrice) {
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertEquals(price, product.getPrice());
+        assertEquals(pricegiamgia, product.getPricegiamgia());
+        assertEquals(effectivePrice, product.getEffectivePrice());
+    }
+}
@@ -0,0 +1,50 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.search.SiteSearchResultDTO;
+import com.social.back_java.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SiteSearchServiceImplTests {
+
+    private SiteSearchServiceImpl search;
+
+    @BeforeEach
+    void setUp() {
+        search = new SiteSearchServiceImpl();
+        for (long id = 1; id <= 3; id++) {
+            Product product = new Product();
+            product.setId(id);
+            product.setName("Tranh son mai " + id);
+            search.onProductSaved(product);
+        }
+    }
+
+    @Test
+    void pagesThroughHits() {
+        SiteSearchResultDTO first = search.search("tranh", null, 0, 2);
+        SiteSearchResultDTO second = search.search("tranh", "product", 1, 2);
+
+        assertEquals(3, first.getTotal());
+        assertEquals(2, first.getItems().size());
+        assertEquals(1, second.getItems().size());
+    }
+
+    @Test
+    void hugePageIsEmptyInsteadOfWrappingToTheFirst() {
+        SiteSearchResultDTO result = search.search("tranh", null, Integer.MAX_VALUE, 50);
+
+        assertTrue(result.getItems().isEmpty());
+        assertEquals(3, result.getTotal());
+        assertTrue(search.search("tranh", null, 1 << 30, 4).getItems().isEmpty());
+    }
+
+    @Test
+    void rejectsUnknownTypes() {
+        assertThrows(IllegalArgumentException.class, () -> search.search("tranh", "order", 0, 10));
+    }
+}
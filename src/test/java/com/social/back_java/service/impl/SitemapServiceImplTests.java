@@ -0,0 +1,45 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.common.CachedDocumentDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SitemapServiceImplTests {
+
+    @Autowired
+    private SitemapServiceImpl sitemapService;
+
+    @Test
+    void regeneratedDocumentsKeepTheirDigest() {
+        CachedDocumentDTO sitemap = sitemapService.getSitemap();
+        CachedDocumentDTO rss = sitemapService.getFeed("blogs", "rss");
+        CachedDocumentDTO atom = sitemapService.getFeed("stories", "atom");
+
+        // Any change drops the cache; unchanged content must come back with the same validator
+        sitemapService.onProductDeleted(-1L);
+        CachedDocumentDTO regenerated = sitemapService.getSitemap();
+
+        assertNotSame(sitemap, regenerated);
+        assertArrayEquals(sitemap.getContent(), regenerated.getContent());
+        assertEquals(sitemap.getDigest(), regenerated.getDigest());
+        assertEquals(rss.getDigest(), sitemapService.getFeed("blogs", "rss").getDigest());
+        assertEquals(atom.getDigest(), sitemapService.getFeed("stories", "atom").getDigest());
+    }
+
+    @Test
+    void missingShardsAreNotFound() {
+        assertTrue(sitemapService.getSitemapShard("blogs", 2).isEmpty());
+        assertTrue(sitemapService.getSitemapShard("blogs", 0).isEmpty());
+        assertTrue(sitemapService.getSitemapShard("unknown", 1).isEmpty());
+        assertTrue(sitemapService.getSitemapShard("products", 1).isPresent());
+    }
+}
@@ -0,0 +1,71 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.model.Story;
+import com.social.back_java.model.StoryBlock;
+import com.social.back_java.repository.StoryBlockRepository;
+import com.social.back_java.repository.StoryRepository;
+import com.social.back_java.service.IStoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StoryBlockMigrationTests {
+
+    @Autowired
+    private StoryBlockMigration migration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private StoryBlockRepository storyBlockRepository;
+
+    @Autowired
+    private IStoryService storyService;
+
+    @Test
+    void movesLegacyBlocksInOrderAndDropsTheOldTable() {
+        Story story = new Story();
+        story.setTitle("Thanh Giong");
+        story.setSlug("thanh-giong-" + System.nanoTime());
+        Long storyId = storyRepository.save(story).getId();
+
+        jdbcTemplate.execute("CREATE TABLE story_blocks (story_id BIGINT NOT NULL REFERENCES stories(id), " +
+                "type VARCHAR(255), sort_order INT NOT NULL, content VARCHAR(5000), image_url VARCHAR(255), " +
+                "image_public_id VARCHAR(255), image_caption VARCHAR(255), image_alt VARCHAR(255))");
+        jdbcTemplate.update("INSERT INTO story_blocks (story_id, type, sort_order, content) VALUES " +
+                "(?, 'text', 2, 'third'), (?, 'text', 0, 'first'), (?, 'text', 1, 'second')", storyId, storyId, storyId);
+
+        migration.migrate();
+
+        List<StoryBlock> blocks = storyBlockRepository.findByStoryIdOrderBySortOrderAscIdAsc(storyId);
+        assertEquals(List.of("first", "second", "third"), blocks.stream().map(StoryBlock::getContent).toList());
+        assertEquals(List.of(1024, 2048, 3072), blocks.stream().map(StoryBlock::getSortOrder).toList());
+        assertFalse(legacyTableExists());
+
+        // A later startup finds nothing to copy, even once the new table is empty again
+        storyService.deleteStory(storyId);
+        migration.migrate();
+        assertTrue(storyBlockRepository.findByStoryIdOrderBySortOrderAscIdAsc(storyId).isEmpty());
+        assertFalse(storyRepository.existsById(storyId));
+    }
+
+    private boolean legacyTableExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS(SELECT 1 FROM information_schema.tables " +
+                        "WHERE table_schema = SCHEMA() AND table_name = 'story_blocks')", Boolean.class));
+    }
+}
@@ -0,0 +1,172 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.story.StoryBlockRequest;
+import com.social.back_java.model.Story;
+import com.social.back_java.model.StoryBlock;
+import com.social.back_java.repository.StoryBlockRepository;
+import com.social.back_java.repository.StoryRepository;
+import com.social.back_java.service.IStoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Block edits go through the service; change listeners are not under test, so each test rolls back
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class StoryBlockOrderingTests {
+
+    private static final int GAP = StoryServiceImpl.BLOCK_SORT_GAP;
+
+    @Autowired
+    private IStoryService storyService;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private StoryBlockRepository storyBlockRepository;
+
+    private Long storyId;
+
+    @BeforeEach
+    void createStory() {
+        Story story = new Story();
+        story.setTitle("Thach Sanh");
+        story.setSlug("thach-sanh");
+        storyId = storyRepository.save(story).getId();
+    }
+
+    @Test
+    void appendsWithTheGapAndInsertsAtTheTopBelowZero() {
+        StoryBlock first = storyService.addBlock(storyId, request("first", null, null));
+        StoryBlock second = storyService.addBlock(storyId, request("second", null, null));
+        StoryBlock top = storyService.addBlock(storyId, request("top", null, first.getId()));
+
+        assertEquals(GAP, first.getSortOrder());
+        assertEquals(2 * GAP, second.getSortOrder());
+        assertEquals(0, top.getSortOrder());
+        StoryBlock higher = storyService.addBlock(storyId, request("higher", null, top.getId()));
+        assertTrue(higher.getSortOrder() < 0);
+        assertEquals(List.of("higher", "top", "first", "second"), contents());
+    }
+
+    @Test
+    void movesABlockAfterOrBeforeAnother() {
+        StoryBlock a = storyService.addBlock(storyId, request("a", null, null));
+        StoryBlock b = storyService.addBlock(storyId, request("b", null, null));
+        StoryBlock c = storyService.addBlock(storyId, request("c", null, null));
+
+        storyService.updateBlock(storyId, a.getId(), request(null, c.getId(), null));
+        assertEquals(List.of("b", "c", "a"), contents());
+
+        storyService.updateBlock(storyId, a.getId(), request(null, null, c.getId()));
+        assertEquals(List.of("b", "a", "c"), contents());
+
+        // Only the moved row changed its key
+        assertEquals(2 * GAP, storyBlockRepository.findById(b.getId()).orElseThrow().getSortOrder());
+        assertEquals(3 * GAP, storyBlockRepository.findById(c.getId()).orElseThrow().getSortOrder());
+
+        // An update without a position keeps it
+        storyService.updateBlock(storyId, a.getId(), request("a2", null, null));
+        assertEquals(List.of("b", "a2", "c"), contents());
+    }
+
+    @Test
+    void rejectsPositionsRelativeToItselfOrBothNeighbours() {
+        StoryBlock a = storyService.addBlock(storyId, request("a", null, null));
+        StoryBlock b = storyService.addBlock(storyId, request("b", null, null));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> storyService.updateBlock(storyId, a.getId(), request(null, a.getId(), null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> storyService.updateBlock(storyId, a.getId(), request(null, null, a.getId())));
+        assertThrows(IllegalArgumentException.class,
+                () -> storyService.addBlock(storyId, request("c", a.getId(), b.getId())));
+    }
+
+    @Test
+    void respacesOnceTheGapIsUsedUp() {
+        Long a = rawBlock("a", 10);
+        Long b = rawBlock("b", 11);
+
+        StoryBlock between = storyService.addBlock(storyId, request("between", a, null));
+
+        assertEquals(List.of("a", "between", "b"), contents());
+        assertEquals(GAP, storyBlockRepository.findById(a).orElseThrow().getSortOrder());
+        assertEquals(2 * GAP, storyBlockRepository.findById(b).orElseThrow().getSortOrder());
+        assertEquals(GAP + GAP / 2, between.getSortOrder());
+    }
+
+    @Test
+    void wholeStoryUpdateKeepsEditsAndDropsBlocksById() {
+        Story created = storyService.createStory(story(
+                block(null, "kept", 0), block(null, "edited", 0), block(null, "dropped", 0)));
+        List<StoryBlock> original = storyBlockRepository.findByStoryIdOrderBySortOrderAscIdAsc(created.getId());
+        // Repeated submitted keys are respaced in list order
+        assertEquals(List.of(GAP, 2 * GAP, 3 * GAP), original.stream().map(StoryBlock::getSortOrder).toList());
+        Long kept = original.get(0).getId();
+        Long edited = original.get(1).getId();
+        Long dropped = original.get(2).getId();
+
+        storyService.updateStory(created.getId(), story(
+                block(edited, "edited again", 100), block(null, "added", 200), block(kept, "kept", 300)));
+
+        List<StoryBlock> blocks = storyBlockRepository.findByStoryIdOrderBySortOrderAscIdAsc(created.getId());
+        assertEquals(List.of("edited again", "added", "kept"), blocks.stream().map(StoryBlock::getContent).toList());
+        assertEquals(List.of(100, 200, 300), blocks.stream().map(StoryBlock::getSortOrder).toList());
+        assertEquals(edited, blocks.get(0).getId());
+        assertEquals(kept, blocks.get(2).getId());
+        assertFalse(storyBlockRepository.existsById(dropped));
+    }
+
+    private Story story(StoryBlock... blocks) {
+        Story story = new Story();
+        story.setTitle("Cay Khe");
+        story.setSlug("cay-khe");
+        story.setBlocks(new ArrayList<>(List.of(blocks)));
+        return story;
+    }
+
+    private StoryBlock block(Long id, String content, int sortOrder) {
+        StoryBlock block = new StoryBlock();
+        block.setId(id);
+        block.setType("text");
+        block.setContent(content);
+        block.setSortOrder(sortOrder);
+        return block;
+    }
+
+    private Long rawBlock(String content, int sortOrder) {
+        StoryBlock block = block(null, content, sortOrder);
+        block.setStoryId(storyId);
+        return storyBlockRepository.save(block).getId();
+    }
+
+    private StoryBlockRequest request(String content, Long afterBlockId, Long beforeBlockId) {
+        StoryBlockRequest request = new StoryBlockRequest();
+        request.setContent(content);
+        request.setAfterBlockId(afterBlockId);
+        request.setBeforeBlockId(beforeBlockId);
+        return request;
+    }
+
+    private List<String> contents() {
+        return storyBlockRepository.findByStoryIdOrderBySortOrderAscIdAsc(storyId).stream()
+                .map(StoryBlock::getContent)
+                .toList();
+    }
+}
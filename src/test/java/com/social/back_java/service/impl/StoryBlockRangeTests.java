@@ -0,0 +1,87 @@
+package com.social.back_java.service.impl;
+
+import com.social.back_java.dto.story.StoryBlockPage;
+import com.social.back_java.model.Story;
+import com.social.back_java.model.StoryBlock;
+import com.social.back_java.repository.StoryBlockRepository;
+import com.social.back_java.repository.StoryRepository;
+import com.social.back_java.service.IStoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class StoryBlockRangeTests {
+
+    @Autowired
+    private IStoryService storyService;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private StoryBlockRepository storyBlockRepository;
+
+    @Test
+    void pagesThroughRepeatedSortKeysOneBlockAtATime() {
+        Story story = new Story();
+        story.setTitle("Tam Cam");
+        story.setSlug("tam-cam-range");
+        Long storyId = storyRepository.save(story).getId();
+        // Two concurrent appends can both pick last + gap, leaving a run of equal keys
+        List<Long> expected = new ArrayList<>();
+        for (int sortOrder : new int[]{-1024, 1024, 2048, 2048, 2048, 3072}) {
+            expected.add(block(storyId, sortOrder));
+        }
+
+        List<Long> read = new ArrayList<>();
+        Integer fromOrder = null;
+        Long fromId = null;
+        for (int requests = 0; requests < expected.size(); requests++) {
+            StoryBlockPage page = storyService.getStoryBlocks(storyId, fromOrder, fromId, 1);
+            page.getBlocks().forEach(block -> read.add(block.getId()));
+            if (!page.isHasMore()) {
+                break;
+            }
+            fromOrder = page.getNextFromOrder();
+            fromId = page.getNextFromId();
+        }
+
+        assertEquals(expected, read);
+    }
+
+    @Test
+    void sortKeyAloneStillStartsAtTheFirstBlockOfThatKey() {
+        Story story = new Story();
+        story.setTitle("Tam Cam");
+        story.setSlug("tam-cam-from-order");
+        Long storyId = storyRepository.save(story).getId();
+        block(storyId, 1024);
+        Long first = block(storyId, 2048);
+        Long second = block(storyId, 2048);
+
+        StoryBlockPage page = storyService.getStoryBlocks(storyId, 2048, null, 10);
+
+        assertEquals(List.of(first, second), page.getBlocks().stream().map(StoryBlock::getId).toList());
+        assertFalse(page.isHasMore());
+    }
+
+    private Long block(Long storyId, int sortOrder) {
+        StoryBlock block = new StoryBlock();
+        block.setStoryId(storyId);
+        block.setType("text");
+        block.setContent("block " + sortOrder);
+        block.setSortOrder(sortOrder);
+        return storyBlockRepository.save(block).getId();
+    }
+}
@@ -0,0 +1,100 @@
+package com.social.back_java.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DecayedTopKTests {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    void halvesScoresEveryHalfLife() {
+        DecayedTopK topK = new DecayedTopK(HOUR, 5, 0);
+        topK.add(1, 8.0, 0);
+
+        assertEquals(8.0, topK.top(5, 0).get(0).getScore(), 1e-9);
+        assertEquals(4.0, topK.top(5, HOUR).get(0).getScore(), 1e-9);
+        assertEquals(1.0, topK.top(5, 3 * HOUR).get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    void ranksRecentEventsAboveOlderOnesOfTheSameWeight() {
+        DecayedTopK topK = new DecayedTopK(HOUR, 5, 0);
+        topK.add(1, 3.0, 0);
+        topK.add(2, 2.0, HOUR);
+        topK.add(3, 1.0, 2 * HOUR);
+
+        // At 2h: 1 -> 0.75, 2 -> 1.0, 3 -> 1.0 (tie broken towards the higher id)
+        assertEquals(List.of(3L, 2L, 1L), ids(topK.top(5, 2 * HOUR)));
+        assertEquals(List.of(3L), ids(topK.top(1, 2 * HOUR)));
+    }
+
+    @Test
+    void keepsOnlyCapacityIdsAndPromotesOnRemove() {
+        DecayedTopK topK = new DecayedTopK(HOUR, 2, 0);
+        topK.add(1, 1.0, 0);
+        topK.add(2, 2.0, 0);
+        topK.add(3, 3.0, 0);
+        assertEquals(List.of(3L, 2L), ids(topK.top(10, 0)));
+        assertEquals(3, topK.size());
+
+        // An id outside the top set climbs back in once it receives enough weight
+        topK.add(1, 5.0, 0);
+        assertEquals(List.of(1L, 3L), ids(topK.top(10, 0)));
+
+        topK.remove(3);
+        topK.remove(42);
+        assertEquals(List.of(1L, 2L), ids(topK.top(10, 0)));
+        assertEquals(2, topK.size());
+    }
+
+    @Test
+    void rebasingKeepsScoresAndDropsFadedIds() {
+        DecayedTopK topK = new DecayedTopK(HOUR, 5, 0);
+        topK.add(1, 8.0, 0);
+        topK.add(2, 1.0, 0);
+
+        topK.rebase(2 * HOUR, 0.5);
+
+        assertEquals(List.of(1L), ids(topK.top(5, 2 * HOUR)));
+        assertEquals(2.0, topK.top(5, 2 * HOUR).get(0).getScore(), 1e-9);
+        assertEquals(1, topK.all(2 * HOUR).size());
+    }
+
+    @Test
+    void rebasesBeforeStoredScoresOverflow() {
+        DecayedTopK topK = new DecayedTopK(1, 5, 0);
+        topK.add(1, 1.0, 0);
+        // 10k half-lives later the event weight would overflow a double without a landmark move
+        topK.add(2, 1.0, 10_000);
+
+        List<DecayedTopK.Scored> top = topK.top(5, 10_000);
+        assertEquals(List.of(2L), ids(top).subList(0, 1));
+        assertEquals(1.0, top.get(0).getScore(), 1e-9);
+        assertTrue(Double.isFinite(top.get(top.size() - 1).getScore()));
+    }
+
+    @Test
+    void handlesEmptyStateAndInvalidInput() {
+        DecayedTopK topK = new DecayedTopK(HOUR, 3, 0);
+        topK.add(1, 0.0, 0);
+        topK.add(2, -1.0, 0);
+
+        assertTrue(topK.top(3, 0).isEmpty());
+        assertTrue(topK.all(0).isEmpty());
+        topK.add(3, 1.0, 0);
+        assertTrue(topK.top(0, 0).isEmpty());
+        assertTrue(topK.top(-1, 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new DecayedTopK(0, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new DecayedTopK(HOUR, 0, 0));
+    }
+
+    private static List<Long> ids(List<DecayedTopK.Scored> scored) {
+        return scored.stream().map(DecayedTopK.Scored::getId).toList();
+    }
+}
@@ -0,0 +1,110 @@
+package com.social.back_java.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTests {
+
+    private InvertedIndex<Long> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex<>();
+        index.put(1L, document("Tranh sơn mài", "Tranh treo tường"));
+        index.put(2L, document("Áo dài lụa", "Áo dài may tay"));
+        index.put(3L, document("Tranh lụa", "Vẽ trên lụa tơ tằm"));
+        index.put(4L, document("Nón lá", null));
+    }
+
+    @Test
+    void requiresEveryQueryToken() {
+        assertEquals(Set.of(3L), keys(index.search("tranh lua", 10)));
+        assertEquals(Set.of(1L, 3L), keys(index.search("TRANH", 10)));
+        assertTrue(index.search("tranh non", 10).isEmpty());
+    }
+
+    @Test
+    void expandsOnlyTheLastTokenAsPrefix() {
+        assertEquals(Set.of(1L, 3L), keys(index.search("tra", 10)));
+        assertEquals(Set.of(3L), keys(index.search("tranh lu", 10)));
+        assertTrue(index.search("tra lua", 10).isEmpty());
+    }
+
+    @Test
+    void ranksExactAndTitleMatchesFirst() {
+        InvertedIndex<Long> words = new InvertedIndex<>();
+        words.put(5L, document("Luan van", null));
+        words.put(6L, document("Lua", null));
+
+        assertEquals(List.of(6L, 5L), ordered(words.search("lua", 10)));
+        // Both documents carry "tranh" in the title, but 1 repeats it in the description
+        assertEquals(List.of(1L, 3L), ordered(index.search("tranh", 10)));
+    }
+
+    @Test
+    void returnsNothingForEmptyQueryOrNonPositiveLimit() {
+        assertTrue(index.search("", 10).isEmpty());
+        assertTrue(index.search(" ,. ", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+        assertTrue(index.search("tranh", 0).isEmpty());
+        assertEquals(0, index.search("tranh", null, 0, -1).getTotal());
+    }
+
+    @Test
+    void pagesAndFiltersHits() {
+        InvertedIndex.Result<Long> firstPage = index.search("lua", null, 0, 1);
+        InvertedIndex.Result<Long> secondPage = index.search("lua", null, 1, 1);
+        InvertedIndex.Result<Long> pastTheEnd = index.search("lua", null, 5, 1);
+        InvertedIndex.Result<Long> filtered = index.search("lua", key -> key != 2L, 0, 10);
+
+        assertEquals(2, firstPage.getTotal());
+        assertEquals(1, firstPage.getHits().size());
+        assertEquals(1, secondPage.getHits().size());
+        assertEquals(Set.of(2L, 3L), Set.of(firstPage.getHits().get(0).getKey(), secondPage.getHits().get(0).getKey()));
+        assertTrue(pastTheEnd.getHits().isEmpty());
+        assertEquals(2, pastTheEnd.getTotal());
+        assertEquals(1, filtered.getTotal());
+        assertEquals(3L, filtered.getHits().get(0).getKey());
+        assertEquals(2, index.search("lua", null, -3, Integer.MAX_VALUE).getHits().size());
+    }
+
+    @Test
+    void replacesAndRemovesDocuments() {
+        index.put(4L, document("Nón bài thơ", null));
+        assertTrue(index.search("la", 10).isEmpty());
+        assertEquals(Set.of(4L), keys(index.search("bai tho", 10)));
+
+        index.remove(4L);
+        index.remove(99L);
+        assertTrue(index.search("non", 10).isEmpty());
+        assertEquals(3, index.size());
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(index.search("tranh", 10).isEmpty());
+    }
+
+    private static Map<String, Float> document(String title, String description) {
+        Map<String, Float> terms = new HashMap<>();
+        InvertedIndex.addText(terms, title, 3f);
+        InvertedIndex.addText(terms, description, 1f);
+        return terms;
+    }
+
+    private static Set<Long> keys(List<InvertedIndex.Hit<Long>> hits) {
+        return hits.stream().map(InvertedIndex.Hit::getKey).collect(Collectors.toSet());
+    }
+
+    private static List<Long> ordered(List<InvertedIndex.Hit<Long>> hits) {
+        return hits.stream().map(InvertedIndex.Hit::getKey).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.social.back_java.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LongIntHashMapTests {
+
+    @Test
+    void readsAbsentKeysAsZero() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertEquals(0, map.get(42));
+        assertEquals(0, map.size());
+        assertArrayEquals(new long[0], map.topKeys(3));
+    }
+
+    @Test
+    void accumulatesAcrossRehashes() {
+        LongIntHashMap map = new LongIntHashMap(2);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            // Negative and sequential keys both land in the table
+            long key = random.nextBoolean() ? i % 700 : -random.nextInt(700);
+            int delta = random.nextInt(5) - 1;
+            expected.merge(key, delta, Integer::sum);
+            assertEquals((int) expected.get(key), map.addTo(key, delta));
+        }
+
+        assertEquals(expected.size(), map.size());
+        Map<Long, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+        expected.forEach((key, value) -> assertEquals((int) value, map.get(key)));
+    }
+
+    @Test
+    void ranksTopKeysByValueThenKey() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.addTo(5, 3);
+        map.addTo(2, 3);
+        map.addTo(9, 7);
+        map.addTo(1, 1);
+        map.addTo(4, 0);
+        map.addTo(6, -2);
+
+        assertArrayEquals(new long[]{9, 2, 5}, map.topKeys(3));
+        // Zero and negative counts never rank
+        assertArrayEquals(new long[]{9, 2, 5, 1}, map.topKeys(10));
+    }
+
+    @Test
+    void returnsNoKeysForNonPositiveK() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.addTo(1, 1);
+
+        assertArrayEquals(new long[0], map.topKeys(0));
+        assertArrayEquals(new long[0], map.topKeys(-1));
+    }
+}
@@ -0,0 +1,77 @@
+package com.social.back_java.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongObjectHashMapTests {
+
+    @Test
+    void replacesValuesAndRejectsNull() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(1, "a");
+        map.put(1, "b");
+
+        assertEquals("b", map.get(1));
+        assertEquals(1, map.size());
+        assertNull(map.get(2));
+        assertNull(map.remove(2));
+        assertThrows(IllegalArgumentException.class, () -> map.put(3, null));
+    }
+
+    @Test
+    void matchesHashMapUnderMixedPutsAndRemoves() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 20_000; i++) {
+            // A small key range keeps probe runs long, so removals have entries to shift back
+            long key = random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                long value = random.nextLong();
+                expected.put(key, value);
+                map.put(key, value);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (long key = 0; key < 300; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        Map<Long, Long> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void keepsCollidingKeysReachableAfterRemove() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(4);
+        // Find keys sharing one home slot in the initial table
+        int mask = LongIntHashMap.capacityFor(4) - 1;
+        List<Long> colliding = new ArrayList<>();
+        for (long key = 0; colliding.size() < 3; key++) {
+            if ((LongIntHashMap.mix(key) & mask) == 0) {
+                colliding.add(key);
+            }
+        }
+        for (Long key : colliding) {
+            map.put(key, "v" + key);
+        }
+
+        assertEquals("v" + colliding.get(0), map.remove(colliding.get(0)));
+        assertEquals("v" + colliding.get(1), map.get(colliding.get(1)));
+        assertEquals("v" + colliding.get(2), map.get(colliding.get(2)));
+        assertNull(map.get(colliding.get(0)));
+        assertEquals(2, map.size());
+    }
+}
@@ -0,0 +1,87 @@
+package com.social.back_java.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LruTtlCacheTests {
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>("test", 2, 60_000);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        // Reading a makes b the eldest
+        assertEquals(1, cache.get("a"));
+        cache.put("c", 3);
+
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() throws InterruptedException {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>("test", 10, 20);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        Thread.sleep(40);
+
+        assertNull(cache.get("a"));
+        cache.purgeExpired();
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.stats().getExpirations());
+    }
+
+    @Test
+    void loadsOnceAndDoesNotCacheNull() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>("test", 10, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(7, cache.getOrLoad("a", key -> { loads.incrementAndGet(); return 7; }));
+        assertEquals(7, cache.getOrLoad("a", key -> { loads.incrementAndGet(); return 8; }));
+        assertEquals(1, loads.get());
+
+        assertNull(cache.getOrLoad("missing", key -> null));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void loadOverlappingInvalidationIsNotCached() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>("test", 10, 60_000);
+
+        // The loader read the old value, then a write invalidated the key before the load finished
+        Integer loaded = cache.getOrLoad("a", key -> {
+            cache.invalidate("a");
+            return 1;
+        });
+
+        assertEquals(1, loaded);
+        assertNull(cache.get("a"));
+        assertEquals(2, cache.getOrLoad("a", key -> 2));
+        assertEquals(2, cache.get("a"));
+    }
+
+    @Test
+    void statsReportHitRate() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>("test", 10, 60_000);
+        assertEquals(0.0, cache.stats().getHitRate());
+        cache.put("a", 1);
+        cache.get("a");
+        cache.get("b");
+
+        assertEquals(1, cache.stats().getHits());
+        assertEquals(1, cache.stats().getMisses());
+        assertEquals(0.5, cache.stats().getHitRate());
+    }
+
+    @Test
+    void rejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new LruTtlCache<String, Integer>("test", 0, 1000));
+    }
+}
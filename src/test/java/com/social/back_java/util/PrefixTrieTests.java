@@ -0,0 +1,83 @@
+package com.social.back_java.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixTrieTests {
+
+    @Test
+    void ranksMatchesByScoreThenId() {
+        PrefixTrie trie = new PrefixTrie(10);
+        trie.put(3, Set.of("goi cuon"), 1.0);
+        trie.put(1, Set.of("goi ga"), 5.0);
+        trie.put(2, Set.of("go"), 1.0);
+        trie.put(4, Set.of("banh"), 9.0);
+
+        assertEquals(List.of(1L, 2L, 3L), trie.lookup("go", 10));
+        assertEquals(List.of(1L, 3L), trie.lookup("goi", 10));
+        assertEquals(List.of(4L, 1L, 2L, 3L), trie.lookup("", 10));
+    }
+
+    @Test
+    void keepsOnlyTopKPerNode() {
+        PrefixTrie trie = new PrefixTrie(2);
+        trie.put(1, Set.of("aa"), 1.0);
+        trie.put(2, Set.of("ab"), 3.0);
+        trie.put(3, Set.of("ac"), 2.0);
+
+        assertEquals(List.of(2L, 3L), trie.lookup("a", 10));
+        assertEquals(List.of(2L), trie.lookup("a", 1));
+    }
+
+    @Test
+    void returnsNothingForMissingPrefixOrNonPositiveLimit() {
+        PrefixTrie trie = new PrefixTrie(5);
+        trie.put(1, Set.of("ao dai"), 1.0);
+
+        assertTrue(trie.lookup("quat", 5).isEmpty());
+        assertTrue(trie.lookup("ao", 0).isEmpty());
+        assertTrue(trie.lookup("ao", -3).isEmpty());
+        assertTrue(new PrefixTrie(5).lookup("", 5).isEmpty());
+    }
+
+    @Test
+    void findsAnIdUnderEachOfItsKeysOnce() {
+        PrefixTrie trie = new PrefixTrie(5);
+        trie.put(1, Set.of("non la", "la"), 1.0);
+
+        assertEquals(List.of(1L), trie.lookup("la", 5));
+        assertEquals(List.of(1L), trie.lookup("non", 5));
+        assertEquals(List.of(1L), trie.lookup("", 5));
+    }
+
+    @Test
+    void replacesAndRemovesKeys() {
+        PrefixTrie trie = new PrefixTrie(5);
+        trie.put(1, Set.of("tranh"), 1.0);
+        trie.put(2, Set.of("tranh son mai"), 2.0);
+        trie.put(1, Set.of("lua"), 1.0);
+
+        assertEquals(List.of(2L), trie.lookup("tranh", 5));
+        assertEquals(List.of(1L), trie.lookup("lu", 5));
+
+        trie.remove(2);
+        trie.remove(42);
+        assertTrue(trie.lookup("tranh", 5).isEmpty());
+        assertEquals(List.of(1L), trie.lookup("", 5));
+    }
+
+    @Test
+    void reordersWhenScoreChanges() {
+        PrefixTrie trie = new PrefixTrie(5);
+        trie.put(1, Set.of("den"), 1.0);
+        trie.put(2, Set.of("den long"), 2.0);
+        trie.put(1, Set.of("den"), 3.0);
+
+        assertEquals(List.of(1L, 2L), trie.lookup("de", 5));
+    }
+}
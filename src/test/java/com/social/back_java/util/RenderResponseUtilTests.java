@@ -0,0 +1,53 @@
+package com.social.back_java.util;
+
+import com.social.back_java.dto.common.RenderedContentDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RenderResponseUtilTests {
+
+    private final RenderedContentDTO content = new RenderedContentDTO(
+            7L, new Date(1000), new byte[]{1}, new byte[]{2});
+
+    @Test
+    void givesEachEncodingItsOwnETag() {
+        ResponseEntity<byte[]> identity = RenderResponseUtil.toResponse("blog-render", content, null, null);
+        ResponseEntity<byte[]> gzip = RenderResponseUtil.toResponse("blog-render", content, null, "br, gzip");
+
+        assertArrayEquals(new byte[]{1}, identity.getBody());
+        assertNull(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(new byte[]{2}, gzip.getBody());
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNotEquals(identity.getHeaders().getETag(), gzip.getHeaders().getETag());
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, identity.getHeaders().getFirst(HttpHeaders.VARY));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzip.getHeaders().getFirst(HttpHeaders.VARY));
+    }
+
+    @Test
+    void revalidatesOnlyAgainstTheNegotiatedEncoding() {
+        String identityTag = RenderResponseUtil.toResponse("blog-render", content, null, null).getHeaders().getETag();
+
+        ResponseEntity<byte[]> sameEncoding = RenderResponseUtil.toResponse("blog-render", content, identityTag, null);
+        ResponseEntity<byte[]> otherEncoding = RenderResponseUtil.toResponse("blog-render", content, identityTag, "gzip");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, sameEncoding.getStatusCode());
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, sameEncoding.getHeaders().getFirst(HttpHeaders.VARY));
+        assertEquals(HttpStatus.OK, otherEncoding.getStatusCode());
+    }
+
+    @Test
+    void treatsZeroQualityAsRefusal() {
+        ResponseEntity<byte[]> response = RenderResponseUtil.toResponse("blog-render", content, null, "gzip;q=0");
+
+        assertArrayEquals(new byte[]{1}, response.getBody());
+    }
+}
@@ -0,0 +1,37 @@
+package com.social.back_java.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextNormalizerTests {
+
+    @Test
+    void foldsCaseAndDiacritics() {
+        assertEquals("go do", TextNormalizer.fold("Gỗ Đỏ"));
+        assertEquals("tranh son mai", TextNormalizer.fold("TRANH SƠN MÀI"));
+        assertEquals("dd", TextNormalizer.fold("đĐ"));
+    }
+
+    @Test
+    void foldsNullAndEmptyToEmpty() {
+        assertEquals("", TextNormalizer.fold(null));
+        assertEquals("", TextNormalizer.fold(""));
+    }
+
+    @Test
+    void splitsOnNonAlphanumerics() {
+        assertEquals(List.of("ao", "dai", "2024", "lua"), TextNormalizer.tokenize("  Áo dài-2024, (lụa)!"));
+        assertEquals(List.of("x"), TextNormalizer.tokenize("x"));
+    }
+
+    @Test
+    void tokenizesBlankInputToNothing() {
+        assertTrue(TextNormalizer.tokenize(null).isEmpty());
+        assertTrue(TextNormalizer.tokenize("").isEmpty());
+        assertTrue(TextNormalizer.tokenize(" ,.- ").isEmpty());
+    }
+}